@@ -0,0 +1,17 @@
+package com.groceteria.benchmark;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Application context with the catalog cache enabled at its default size,
+ * for benchmarks that measure cached catalog reads.
+ */
+@State(Scope.Benchmark)
+public class CachedGroceteriaState extends GroceteriaState {
+
+    @Override
+    protected int catalogCacheEntries() {
+        return 1000;
+    }
+}
@@ -0,0 +1,60 @@
+package com.groceteria.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.groceteria.dto.CartDTO;
+
+/**
+ * Cart write paths: adding items (insert or quantity merge) and updating quantities.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CartBenchmark {
+
+    private static final int CART_LINES = 1000;
+
+    @State(Scope.Benchmark)
+    public static class Carts {
+        List<Long> cartIds = new ArrayList<>();
+
+        @Setup(Level.Trial)
+        public void fill(GroceteriaState state) {
+            for (int i = 0; i < CART_LINES; i++) {
+                CartDTO added = state.cartService.addToCart(CartDTO.builder().quantity(1L).build(),
+                    state.randomItemId(), state.randomCustomerId());
+                cartIds.add(added.getCartId());
+            }
+        }
+    }
+
+    @Benchmark
+    public CartDTO addToCart(GroceteriaState state) {
+        return state.cartService.addToCart(CartDTO.builder().quantity(1L).build(), state.randomItemId(),
+            state.randomCustomerId());
+    }
+
+    @Benchmark
+    public CartDTO updateCartQuantity(GroceteriaState state, Carts carts) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Long cartId = carts.cartIds.get(random.nextInt(carts.cartIds.size()));
+        return state.cartService.updateCartQuantity(cartId, 1L + random.nextInt(10));
+    }
+}
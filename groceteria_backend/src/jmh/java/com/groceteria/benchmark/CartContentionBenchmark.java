@@ -0,0 +1,96 @@
+package com.groceteria.benchmark;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.groceteria.dto.CartDTO;
+
+/**
+ * Concurrent adds of the same few items to a few hot carts, as when one user adds from
+ * several tabs at once. With one hot user every add contends for the same cart; with
+ * more hot users the striped locks let adds proceed in parallel. After each iteration the
+ * merged cart quantities are checked against the number of adds made, and the run
+ * fails if an increment was lost or an item got a second cart line.
+ * Example: {@code -Djmh.args="CartContentionBenchmark -p catalogSize=1000"}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class CartContentionBenchmark {
+
+    private static final int HOT_ITEMS = 4;
+
+    @State(Scope.Benchmark)
+    public static class HotCarts {
+        @Param({ "1", "8", "64" })
+        public int hotUsers;
+
+        int[] userIds;
+        long[] itemIds;
+        final LongAdder adds = new LongAdder();
+
+        @Setup(Level.Trial)
+        public void pick(GroceteriaState state) {
+            Set<Integer> users = new LinkedHashSet<>();
+            while (users.size() < hotUsers) {
+                users.add(state.randomCustomerId());
+            }
+            userIds = users.stream().mapToInt(Integer::intValue).toArray();
+            for (int userId : userIds) {
+                state.cartService.clearUserCart(userId);
+            }
+            itemIds = new long[HOT_ITEMS];
+            for (int i = 0; i < HOT_ITEMS; i++) {
+                itemIds[i] = state.data.getFirstItemId() + i;
+            }
+        }
+
+        // Per iteration, while the application context is still open and all threads are idle
+        @TearDown(Level.Iteration)
+        public void verify(GroceteriaState state) {
+            long quantity = 0;
+            for (int userId : userIds) {
+                Set<Long> items = new LinkedHashSet<>();
+                for (CartDTO line : state.cartService.getCartByUserId(userId)) {
+                    if (!items.add(line.getItemId())) {
+                        throw new IllegalStateException("User " + userId + " has two cart lines for item " + line.getItemId());
+                    }
+                    quantity += line.getQuantity();
+                }
+            }
+            if (quantity != adds.sum()) {
+                throw new IllegalStateException("Carts hold quantity " + quantity + " after " + adds.sum() + " adds");
+            }
+        }
+    }
+
+    @Benchmark
+    public CartDTO addSameItems(GroceteriaState state, HotCarts carts) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        CartDTO added = state.cartService.addToCart(CartDTO.builder().quantity(1L).build(),
+            carts.itemIds[random.nextInt(HOT_ITEMS)], carts.userIds[random.nextInt(carts.userIds.length)]);
+        carts.adds.increment();
+        return added;
+    }
+}
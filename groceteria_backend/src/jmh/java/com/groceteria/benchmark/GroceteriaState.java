@@ -0,0 +1,134 @@
+package com.groceteria.benchmark;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.groceteria.groceteriaApplication;
+import com.groceteria.cache.CatalogCache;
+import com.groceteria.cache.ItemCountRegistry;
+import com.groceteria.search.ItemSearchIndex;
+import com.groceteria.search.ItemSuggestionTrie;
+import com.groceteria.seed.SeedPlan;
+import com.groceteria.seed.SeedSummary;
+import com.groceteria.seed.SyntheticDataGenerator;
+import com.groceteria.service.CartService;
+import com.groceteria.service.ItemService;
+import com.groceteria.service.OrderService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Application context shared by all benchmarks of a trial.
+ * Starts the application without the web layer against a private in-memory H2
+ * database, fills it with the synthetic data generator for the requested catalog size
+ * and rebuilds the derived views.
+ * The catalog cache is disabled so catalog benchmarks measure their queries;
+ * {@link CachedGroceteriaState} keeps it enabled.
+ */
+@State(Scope.Benchmark)
+public class GroceteriaState {
+
+    static final List<String> PRODUCT_NAMES = SyntheticDataGenerator.productNames();
+
+    @Param({ "1000", "10000", "100000" })
+    public int catalogSize;
+
+    @Param({ "42" })
+    public long seed;
+
+    SeedSummary data;
+
+    ConfigurableApplicationContext context;
+    ItemService itemService;
+    CartService cartService;
+    OrderService orderService;
+
+    /**
+     * Value of groceteria.cache.catalog.max-entries for this state's context.
+     */
+    protected int catalogCacheEntries() {
+        return 0;
+    }
+
+    @Setup(Level.Trial)
+    public void start() {
+        // Passed as command-line arguments so they override application.yml
+        Map<String, String> properties = new HashMap<>(Map.of(
+            "spring.datasource.url", "jdbc:h2:mem:bench-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+            "spring.datasource.username", "sa",
+            "spring.datasource.password", "",
+            "spring.datasource.driver-class-name", "org.h2.Driver",
+            "spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect",
+            "spring.jpa.hibernate.ddl-auto", "create-drop",
+            "spring.jpa.show-sql", "false",
+            "logging.level.root", "WARN",
+            "logging.level.org.hibernate.SQL", "WARN",
+            "logging.level.com.groceteria", "WARN"));
+        properties.put("groceteria.cache.catalog.max-entries", String.valueOf(catalogCacheEntries()));
+        context = new SpringApplicationBuilder(groceteriaApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new));
+
+        SeedPlan plan = SeedPlan.builder()
+            .seed(seed)
+            .vendors(50)
+            .customers(2000)
+            .items(catalogSize)
+            .orders(Math.max(1000, catalogSize / 2))
+            .cartUsers(500)
+            .build();
+        data = new SyntheticDataGenerator(context.getBean(JdbcTemplate.class), plan).generate();
+        context.getBean(ItemSearchIndex.class).rebuild();
+        context.getBean(ItemSuggestionTrie.class).rebuild();
+        context.getBean(CatalogCache.class).clear();
+        context.getBean(ItemCountRegistry.class).invalidate();
+        context.getBean(EntityManagerFactory.class).getCache().evictAll();
+
+        itemService = context.getBean(ItemService.class);
+        cartService = context.getBean(CartService.class);
+        orderService = context.getBean(OrderService.class);
+    }
+
+    int randomVendorId() {
+        return data.getFirstUserId() + ThreadLocalRandom.current().nextInt(data.getVendors());
+    }
+
+    int randomCustomerId() {
+        return data.getFirstUserId() + data.getVendors() + ThreadLocalRandom.current().nextInt(data.getCustomers());
+    }
+
+    long randomItemId() {
+        return data.getFirstItemId() + ThreadLocalRandom.current().nextInt(data.getItems());
+    }
+
+    long randomOrderId() {
+        return data.getFirstOrderId() + ThreadLocalRandom.current().nextInt(data.getOrders());
+    }
+
+    String randomProductName() {
+        return PRODUCT_NAMES.get(ThreadLocalRandom.current().nextInt(PRODUCT_NAMES.size()));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.groceteria.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.groceteria.dto.ItemCursorPagingDTO;
+import com.groceteria.dto.ItemDTO;
+import com.groceteria.dto.ItemPagingDTO;
+import com.groceteria.dto.ItemSuggestionDTO;
+import com.groceteria.entity.Category;
+
+/**
+ * Catalog read paths: offset and keyset paging, keyword search, type-ahead and
+ * entity versus projection DTO mapping.
+ * Benchmarks suffixed Cached read through the catalog cache; the others bypass it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Benchmark
+    public ItemPagingDTO pageByOffset(GroceteriaState state) {
+        int pages = Math.max(1, state.catalogSize / PAGE_SIZE);
+        return state.itemService.getAllItems(ThreadLocalRandom.current().nextInt(pages), PAGE_SIZE, true);
+    }
+
+    @Benchmark
+    public ItemPagingDTO pageByOffsetWithoutCount(GroceteriaState state) {
+        int pages = Math.max(1, state.catalogSize / PAGE_SIZE);
+        return state.itemService.getAllItems(ThreadLocalRandom.current().nextInt(pages), PAGE_SIZE, false);
+    }
+
+    @Benchmark
+    public ItemPagingDTO pageByOffsetCached(CachedGroceteriaState state) {
+        int pages = Math.max(1, state.catalogSize / PAGE_SIZE);
+        return state.itemService.getAllItems(ThreadLocalRandom.current().nextInt(pages), PAGE_SIZE, true);
+    }
+
+    @Benchmark
+    public ItemCursorPagingDTO pageByCursor(GroceteriaState state) {
+        ItemCursorPagingDTO first = state.itemService.getAllItemsByCursor(null, PAGE_SIZE);
+        return state.itemService.getAllItemsByCursor(first.getNextCursor(), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public ItemPagingDTO searchByKeyword(GroceteriaState state) {
+        return state.itemService.findItemsByName(state.randomProductName().toLowerCase(), 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public ItemPagingDTO searchByKeywordCached(CachedGroceteriaState state) {
+        return state.itemService.findItemsByName(state.randomProductName().toLowerCase(), 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemSuggestionDTO> suggestByPrefix(GroceteriaState state) {
+        return state.itemService.suggestItems(state.randomProductName().substring(0, 3), 10);
+    }
+
+    @Benchmark
+    public ItemPagingDTO mapEntitiesToDTO(GroceteriaState state) {
+        return state.itemService.getItemsByVendor(state.randomVendorId(), 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemDTO> listByProjection(GroceteriaState state) {
+        Category[] categories = Category.values();
+        return state.itemService.findItemsByCategory(categories[ThreadLocalRandom.current().nextInt(categories.length)]);
+    }
+}
@@ -0,0 +1,40 @@
+package com.groceteria.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.groceteria.dto.OrderDTO;
+
+/**
+ * Order listing paths over the seeded order history.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderBenchmark {
+
+    @Benchmark
+    public List<OrderDTO> listOrdersByUser(GroceteriaState state) {
+        return state.orderService.getOrdersByUserId(state.randomCustomerId());
+    }
+
+    @Benchmark
+    public List<OrderDTO> listOrdersByStatus(GroceteriaState state) {
+        return state.orderService.getOrdersByStatus("PENDING");
+    }
+
+    @Benchmark
+    public OrderDTO getOrderById(GroceteriaState state) {
+        return state.orderService.getOrderById(state.randomOrderId());
+    }
+}
@@ -0,0 +1,53 @@
+package com.groceteria.loadtest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Latency histogram and outcome counters for one endpoint.
+ * Latencies are recorded in microseconds; {@link #reset()} discards everything
+ * recorded so far, e.g. at the end of warmup.
+ */
+class EndpointStats {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    final String name;
+    private final Recorder recorder = new Recorder(MAX_LATENCY_MICROS, 3);
+    final LongAdder ok = new LongAdder();
+    final LongAdder clientErrors = new LongAdder();
+    final LongAdder serverErrors = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    void record(long latencyNanos, int status) {
+        recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS));
+        if (status >= 200 && status < 400) {
+            ok.increment();
+        } else if (status >= 400 && status < 500) {
+            clientErrors.increment();
+        } else {
+            // 5xx, timeouts and connection failures (status 0)
+            serverErrors.increment();
+        }
+    }
+
+    void reset() {
+        recorder.getIntervalHistogram();
+        ok.reset();
+        clientErrors.reset();
+        serverErrors.reset();
+    }
+
+    /**
+     * Histogram of everything recorded since the last reset.
+     */
+    Histogram histogram() {
+        return recorder.getIntervalHistogram();
+    }
+}
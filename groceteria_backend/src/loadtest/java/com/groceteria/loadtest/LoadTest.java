@@ -0,0 +1,223 @@
+package com.groceteria.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Load-test harness that replays shopper journeys against a running instance.
+ * Open-loop steps start journeys at a fixed mean arrival rate regardless of how the
+ * server keeps up, and measure each journey from its scheduled start, so queueing shows
+ * up in the percentiles; stepping through increasing rates finds the saturation point.
+ * Closed-loop steps run a fixed number of clients back to back. Each step reports
+ * HdrHistogram latency percentiles, throughput and errors per endpoint.
+ */
+public final class LoadTest {
+
+    private static final String[] ENDPOINTS = {
+        ShopperJourney.BROWSE, ShopperJourney.SEARCH, ShopperJourney.ADD_TO_CART, ShopperJourney.CHECKOUT, ShopperJourney.PAY
+    };
+
+    private final LoadTestOptions options;
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final ShopperJourney journey;
+    private final ExecutorService executor;
+
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private LoadTest(LoadTestOptions options) {
+        this.options = options;
+        for (String endpoint : ENDPOINTS) {
+            stats.put(endpoint, new EndpointStats(endpoint));
+        }
+        this.executor = newExecutor(options.virtualThreads);
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(options.timeoutMillis))
+            .executor(executor)
+            .build();
+        this.journey = new ShopperJourney(options, stats, client);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        if (options.help) {
+            System.out.println(LoadTestOptions.usage());
+            return;
+        }
+        LoadTest loadTest = new LoadTest(options);
+        try {
+            if (!options.rates.isEmpty()) {
+                for (int rate : options.rates) {
+                    loadTest.runOpenLoop(rate);
+                }
+            } else {
+                for (int clients : options.clients) {
+                    loadTest.runClosedLoop(clients);
+                }
+            }
+        } finally {
+            loadTest.executor.shutdownNow();
+        }
+    }
+
+    private void runOpenLoop(int rate) throws InterruptedException, IOException {
+        long meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, rate);
+        long stepStart = System.nanoTime();
+        long warmupEnd = stepStart + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+        Semaphore inFlight = new Semaphore(options.maxInFlight);
+        boolean measuring = options.warmupSeconds == 0;
+        resetStats();
+
+        long next = stepStart;
+        while (true) {
+            next += options.poisson
+                ? (long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanIntervalNanos)
+                : meanIntervalNanos;
+            if (next >= end) {
+                break;
+            }
+            sleepUntil(next);
+            if (!measuring && next >= warmupEnd) {
+                resetStats();
+                measuring = true;
+            }
+            if (!inFlight.tryAcquire()) {
+                // The client itself is saturated; count the arrival instead of queueing without bound
+                dropped.increment();
+                continue;
+            }
+            long intendedStart = next;
+            boolean measured = measuring;
+            if (measured) {
+                started.increment();
+            }
+            executor.execute(() -> {
+                try {
+                    boolean ok = journey.run(intendedStart);
+                    if (measured) {
+                        (ok ? completed : failed).increment();
+                    }
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+        // Let in-flight journeys finish so their latencies are counted
+        if (inFlight.tryAcquire(options.maxInFlight, options.timeoutMillis * 5L, TimeUnit.MILLISECONDS)) {
+            inFlight.release(options.maxInFlight);
+        }
+        report(String.format("open loop, %d journeys/s (%s arrivals)", rate, options.poisson ? "poisson" : "uniform"),
+            "open-" + rate);
+    }
+
+    private void runClosedLoop(int clients) throws InterruptedException, IOException {
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+        CountDownLatch done = new CountDownLatch(clients);
+        resetStats();
+        for (int i = 0; i < clients; i++) {
+            executor.execute(() -> {
+                try {
+                    long start;
+                    while ((start = System.nanoTime()) < end && !Thread.currentThread().isInterrupted()) {
+                        boolean ok = journey.run(start);
+                        // Journeys begun during warmup are not counted
+                        if (start >= warmupEnd) {
+                            started.increment();
+                            (ok ? completed : failed).increment();
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        sleepUntil(warmupEnd);
+        resetStats();
+        done.await();
+        report(String.format("closed loop, %d clients", clients), "closed-" + clients);
+    }
+
+    private void resetStats() {
+        stats.values().forEach(EndpointStats::reset);
+        started.reset();
+        completed.reset();
+        failed.reset();
+        dropped.reset();
+    }
+
+    private void report(String label, String fileLabel) throws IOException {
+        double seconds = options.durationSeconds;
+        PrintStream out = System.out;
+        out.println();
+        out.printf("=== %s, %d s measured ===%n", label, options.durationSeconds);
+        out.printf("Journeys: started %d, completed %d, failed %d, dropped %d (%.1f completed/s)%n",
+            started.sum(), completed.sum(), failed.sum(), dropped.sum(), completed.sum() / seconds);
+        out.printf("%-22s %8s %8s %6s %6s %8s %8s %8s %8s %8s %8s%n",
+            "Endpoint", "Count", "OK", "4xx", "5xx", "Req/s", "p50", "p90", "p99", "p99.9", "max ms");
+        for (EndpointStats endpoint : stats.values()) {
+            Histogram histogram = endpoint.histogram();
+            long count = histogram.getTotalCount();
+            out.printf("%-22s %8d %8d %6d %6d %8.1f %8.2f %8.2f %8.2f %8.2f %8.2f%n",
+                endpoint.name, count, endpoint.ok.sum(), endpoint.clientErrors.sum(), endpoint.serverErrors.sum(),
+                count / seconds, millis(histogram, 50), millis(histogram, 90), millis(histogram, 99),
+                millis(histogram, 99.9), histogram.getMaxValue() / 1000.0);
+            if (!options.hgrmDir.isEmpty() && count > 0) {
+                writeHgrm(fileLabel, endpoint.name, histogram);
+            }
+        }
+    }
+
+    private void writeHgrm(String fileLabel, String endpoint, Histogram histogram) throws IOException {
+        Path dir = Path.of(options.hgrmDir);
+        Files.createDirectories(dir);
+        String name = fileLabel + "-" + endpoint.replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "") + ".hgrm";
+        try (PrintStream file = new PrintStream(Files.newOutputStream(dir.resolve(name)))) {
+            // Recorded in microseconds, written in milliseconds
+            histogram.outputPercentileDistribution(file, 1000.0);
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static void sleepUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    // Virtual threads when the JVM has them (Java 21+), platform threads otherwise
+    private static ExecutorService newExecutor(boolean virtualThreads) {
+        if (virtualThreads && Runtime.version().feature() >= 21) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                // fall through to platform threads
+            }
+        }
+        return Executors.newCachedThreadPool();
+    }
+}
@@ -0,0 +1,111 @@
+package com.groceteria.loadtest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command-line options of the load test, given as {@code -name=value}.
+ * Defaults target a local instance loaded by the synthetic data generator with its
+ * default plan (vendors 1-100, customers 101-100100, items 1-100000).
+ */
+public class LoadTestOptions {
+
+    String baseUrl = "http://localhost:8080";
+
+    /** Open-loop journey arrival rates per second, one step each. */
+    List<Integer> rates = new ArrayList<>();
+
+    /** Closed-loop client counts, one step each; used when no rates are given. */
+    List<Integer> clients = new ArrayList<>(List.of(10));
+
+    boolean poisson = true;
+    int durationSeconds = 60;
+    int warmupSeconds = 10;
+    int maxInFlight = 2000;
+    int timeoutMillis = 10_000;
+    int thinkMillis = 0;
+
+    /** Share of journeys that go on to checkout and pay after filling the cart. */
+    double checkoutRatio = 0.3;
+
+    int firstUserId = 101;
+    int users = 100_000;
+    long firstItemId = 1;
+    int items = 100_000;
+    double itemSkew = 1.0;
+    int pageSize = 20;
+
+    boolean virtualThreads = true;
+
+    /** Directory for per-endpoint .hgrm percentile files; none when empty. */
+    String hgrmDir = "";
+
+    boolean help;
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("-")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(eq < 0 ? arg.substring(1) : arg.substring(1, eq), eq < 0 ? "true" : arg.substring(eq + 1));
+        }
+
+        LoadTestOptions options = new LoadTestOptions();
+        options.baseUrl = values.getOrDefault("url", options.baseUrl);
+        if (values.containsKey("rates")) {
+            options.rates = parseList(values.get("rates"));
+        }
+        if (values.containsKey("clients")) {
+            options.clients = parseList(values.get("clients"));
+        }
+        options.poisson = !"uniform".equals(values.getOrDefault("arrival", "poisson"));
+        options.durationSeconds = intValue(values, "duration", options.durationSeconds);
+        options.warmupSeconds = intValue(values, "warmup", options.warmupSeconds);
+        options.maxInFlight = intValue(values, "max-in-flight", options.maxInFlight);
+        options.timeoutMillis = intValue(values, "timeout-ms", options.timeoutMillis);
+        options.thinkMillis = intValue(values, "think-ms", options.thinkMillis);
+        options.checkoutRatio = Double.parseDouble(values.getOrDefault("checkout-ratio", String.valueOf(options.checkoutRatio)));
+        options.firstUserId = intValue(values, "first-user-id", options.firstUserId);
+        options.users = intValue(values, "users", options.users);
+        options.firstItemId = intValue(values, "first-item-id", (int) options.firstItemId);
+        options.items = intValue(values, "items", options.items);
+        options.itemSkew = Double.parseDouble(values.getOrDefault("item-skew", String.valueOf(options.itemSkew)));
+        options.pageSize = intValue(values, "page-size", options.pageSize);
+        options.virtualThreads = !"platform".equals(values.getOrDefault("threads", "virtual"));
+        options.hgrmDir = values.getOrDefault("hgrm-dir", options.hgrmDir);
+        options.help = values.containsKey("help");
+        return options;
+    }
+
+    static String usage() {
+        return String.join(System.lineSeparator(),
+            "Groceteria load test: replays shopper journeys (browse, search, add to cart, checkout, pay).",
+            "  -url=http://localhost:8080   instance under test",
+            "  -rates=50,100,200            open-loop journeys per second, one step per rate",
+            "  -clients=10,50               closed-loop clients, one step per count (when no -rates)",
+            "  -arrival=poisson|uniform     open-loop inter-arrival distribution",
+            "  -duration=60 -warmup=10      seconds measured / discarded per step",
+            "  -max-in-flight=2000          open-loop journeys allowed at once; arrivals beyond are dropped",
+            "  -timeout-ms=10000 -think-ms=0",
+            "  -checkout-ratio=0.3          share of journeys that check out and pay",
+            "  -first-user-id=101 -users=100000 -first-item-id=1 -items=100000 -item-skew=1.0",
+            "  -threads=virtual|platform    client threads; virtual needs Java 21, else platform is used",
+            "  -hgrm-dir=target/loadtest    write per-endpoint percentile distributions");
+    }
+
+    private static int intValue(Map<String, String> values, String name, int defaultValue) {
+        return values.containsKey(name) ? Integer.parseInt(values.get(name)) : defaultValue;
+    }
+
+    private static List<Integer> parseList(String value) {
+        List<Integer> list = new ArrayList<>();
+        for (String part : value.split(",")) {
+            list.add(Integer.parseInt(part.trim()));
+        }
+        return list;
+    }
+}
@@ -0,0 +1,137 @@
+package com.groceteria.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.groceteria.seed.SyntheticDataGenerator;
+import com.groceteria.seed.ZipfSampler;
+
+/**
+ * One scripted shopper visit: browse a catalog page, search, add one to three items to
+ * the cart and, for a share of visits, check out and pay. Requests are blocking and are
+ * recorded against the endpoint stats; a journey stops at the first failed step.
+ */
+class ShopperJourney {
+
+    static final String BROWSE = "GET /items/paged";
+    static final String SEARCH = "GET /items/search";
+    static final String ADD_TO_CART = "POST /cart";
+    static final String CHECKOUT = "POST /orders/checkout";
+    static final String PAY = "POST /payments";
+
+    private static final List<String> KEYWORDS = SyntheticDataGenerator.productNames();
+
+    private final LoadTestOptions options;
+    private final Map<String, EndpointStats> stats;
+    private final HttpClient client;
+    private final ZipfSampler itemPopularity;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    ShopperJourney(LoadTestOptions options, Map<String, EndpointStats> stats, HttpClient client) {
+        this.options = options;
+        this.stats = stats;
+        this.client = client;
+        this.itemPopularity = new ZipfSampler(options.items, options.itemSkew);
+    }
+
+    /**
+     * Run one journey. The first request's latency is measured from {@code intendedStartNanos},
+     * so time spent waiting for a client thread counts against the server, as it would for
+     * a real user arriving at that moment.
+     */
+    boolean run(long intendedStartNanos) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int userId = options.firstUserId + random.nextInt(options.users);
+        int pages = Math.max(1, options.items / options.pageSize);
+
+        if (send(BROWSE, get("/api/v1/items/paged?pageNo=" + random.nextInt(Math.min(pages, 50))
+                + "&pageSize=" + options.pageSize), intendedStartNanos) == null) {
+            return false;
+        }
+        think();
+        String keyword = KEYWORDS.get(random.nextInt(KEYWORDS.size())).split(" ")[0].toLowerCase();
+        if (send(SEARCH, get("/api/v1/items/search?keyword=" + keyword + "&pageSize=" + options.pageSize),
+                System.nanoTime()) == null) {
+            return false;
+        }
+        int lines = 1 + random.nextInt(3);
+        for (int i = 0; i < lines; i++) {
+            think();
+            long itemId = options.firstItemId + itemPopularity.sample(random);
+            if (send(ADD_TO_CART, post("/api/v1/cart?itemId=" + itemId + "&userId=" + userId, "{\"quantity\":1}", false),
+                    System.nanoTime()) == null) {
+                return false;
+            }
+        }
+        if (random.nextDouble() >= options.checkoutRatio) {
+            return true;
+        }
+
+        think();
+        JsonNode order = send(CHECKOUT, post("/api/v1/orders/checkout?userId=" + userId, "", true), System.nanoTime());
+        if (order == null || !order.hasNonNull("orderId")) {
+            return false;
+        }
+        think();
+        return send(PAY, post("/api/v1/payments?orderId=" + order.get("orderId").asLong() + "&userId=" + userId,
+            "{}", true), System.nanoTime()) != null;
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest post(String path, String body, boolean idempotent) {
+        HttpRequest.Builder builder = request(path)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (idempotent) {
+            builder.header("Idempotency-Key", UUID.randomUUID().toString());
+        }
+        return builder.build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(options.baseUrl + path))
+            .timeout(Duration.ofMillis(options.timeoutMillis));
+    }
+
+    // Returns the parsed body of a successful response, or null when the step failed
+    private JsonNode send(String endpoint, HttpRequest request, long startNanos) {
+        EndpointStats endpointStats = stats.get(endpoint);
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            endpointStats.record(System.nanoTime() - startNanos, response.statusCode());
+            if (response.statusCode() >= 400) {
+                return null;
+            }
+            return response.body().isEmpty() ? objectMapper.nullNode() : objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            endpointStats.record(System.nanoTime() - startNanos, 0);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private void think() {
+        if (options.thinkMillis > 0) {
+            try {
+                Thread.sleep(options.thinkMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.groceteria.cache;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.groceteria.dto.CacheStatsDTO;
+import com.groceteria.dto.ItemDTO;
+import com.groceteria.dto.ItemPagingDTO;
+import com.groceteria.entity.Category;
+import com.groceteria.event.ItemChangedEvent;
+import com.groceteria.search.ItemSearchIndex;
+
+/**
+ * Bounded, read-through cache for paged catalog queries.
+ * Entries are keyed by query shape (category, keyword, page number, page size),
+ * evicted in LRU order once the size limit is reached and expired after a fixed TTL.
+ * Item writes invalidate only the entries whose result could contain the changed item.
+ * A maximum of zero entries disables caching: every call runs its loader.
+ */
+@Component
+public class CatalogCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    private final LinkedHashMap<CatalogKey, Entry> entries;
+    // Loads in progress, guarded by the entries lock; an invalidation removes the marker so the load is not cached
+    private final Map<CatalogKey, Object> loading = new HashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public CatalogCache(@Value("${groceteria.cache.catalog.max-entries:1000}") int maxEntries,
+            @Value("${groceteria.cache.catalog.ttl-seconds:300}") long ttlSeconds) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CatalogKey, Entry> eldest) {
+                if (size() > CatalogCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Return the cached page for the key, loading and caching it on a miss.
+     * The loader runs outside the cache lock so a slow query never blocks other readers;
+     * its result is cached only if no invalidation for the key arrived while it ran.
+     */
+    public ItemPagingDTO get(CatalogKey key, Supplier<ItemPagingDTO> loader) {
+        if (maxEntries <= 0) {
+            misses.incrementAndGet();
+            return loader.get();
+        }
+        long now = System.currentTimeMillis();
+        Object marker = new Object();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt > now) {
+                    hits.incrementAndGet();
+                    return entry.page;
+                }
+                entries.remove(key);
+                evictions.incrementAndGet();
+            }
+            loading.put(key, marker);
+        }
+        misses.incrementAndGet();
+        ItemPagingDTO page;
+        try {
+            page = loader.get();
+        } catch (RuntimeException e) {
+            synchronized (entries) {
+                loading.remove(key, marker);
+            }
+            throw e;
+        }
+        synchronized (entries) {
+            // A later load of the same key replaces the marker, so only the newest load is cached
+            if (loading.remove(key, marker)) {
+                entries.put(key, new Entry(page, now + ttlMillis));
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Remove every cached page whose result may include the changed item.
+     */
+    @EventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        synchronized (entries) {
+            Iterator<CatalogKey> it = entries.keySet().iterator();
+            while (it.hasNext()) {
+                CatalogKey key = it.next();
+                if (isAffected(key, event.getBefore()) || isAffected(key, event.getAfter())) {
+                    it.remove();
+                    invalidations.incrementAndGet();
+                }
+            }
+            loading.keySet().removeIf(key -> isAffected(key, event.getBefore()) || isAffected(key, event.getAfter()));
+        }
+    }
+
+    /**
+     * Drop all cached pages.
+     */
+    public void clear() {
+        synchronized (entries) {
+            invalidations.addAndGet(entries.size());
+            entries.clear();
+            loading.clear();
+        }
+    }
+
+    public CacheStatsDTO getStats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long lookups = hitCount + missCount;
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return CacheStatsDTO.builder()
+            .name("catalog")
+            .size(size)
+            .maxEntries(maxEntries)
+            .ttlSeconds(ttlMillis / 1000)
+            .hits(hitCount)
+            .misses(missCount)
+            .evictions(evictions.get())
+            .invalidations(invalidations.get())
+            .hitRatio(lookups == 0 ? 0.0 : (double) hitCount / lookups)
+            .build();
+    }
+
+    private static boolean isAffected(CatalogKey key, ItemDTO item) {
+        if (item == null) {
+            return false;
+        }
+        if (key.getKeyword() != null) {
+            // Superset of what search can match: every token appears somewhere in name or description
+            String text = (item.getItemName() + " " + item.getDescription()).toLowerCase();
+            List<String> tokens = ItemSearchIndex.tokenize(key.getKeyword());
+            return tokens.isEmpty() ? text.contains(key.getKeyword()) : tokens.stream().allMatch(text::contains);
+        }
+        if (key.getCategory() != null) {
+            return key.getCategory() == item.getCategory();
+        }
+        // Unfiltered pages shift whenever any item changes
+        return true;
+    }
+
+    private static final class Entry {
+        private final ItemPagingDTO page;
+        private final long expiresAt;
+
+        private Entry(ItemPagingDTO page, long expiresAt) {
+            this.page = page;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Cache key describing the shape of a paged catalog query.
+     */
+    @lombok.Value
+    public static class CatalogKey {
+        Category category;
+        String keyword;
+        int pageNo;
+        int pageSize;
+
+        public static CatalogKey all(int pageNo, int pageSize) {
+            return new CatalogKey(null, null, pageNo, pageSize);
+        }
+
+        public static CatalogKey category(Category category, int pageNo, int pageSize) {
+            return new CatalogKey(category, null, pageNo, pageSize);
+        }
+
+        public static CatalogKey keyword(String keyword, int pageNo, int pageSize) {
+            return new CatalogKey(null, keyword.toLowerCase(), pageNo, pageSize);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.groceteria.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.groceteria.exception.BadRequestException;
+import com.groceteria.exception.ConflictException;
+
+/**
+ * Bounded, time-expiring store of responses to requests carrying an Idempotency-Key.
+ * The first request with a key runs and its successful response is kept; retries with
+ * the same key replay that response without running the action again. A retry that
+ * arrives while the first request is still running is rejected with 409, and reusing
+ * a key for a different request is rejected with 400. Failed actions are not stored,
+ * so the client may retry them with the same key.
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    private final LinkedHashMap<String, Entry> entries;
+
+    public IdempotencyStore(@Value("${groceteria.idempotency.max-entries:10000}") int maxEntries,
+            @Value("${groceteria.idempotency.ttl-seconds:86400}") long ttlSeconds) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > IdempotencyStore.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Run the action once per scope and key, replaying the stored response on retries.
+     * Without a key the action simply runs. The fingerprint identifies the request
+     * (parameters and body) and must match on every retry.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> execute(String scope, String key, Object fingerprint,
+            Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String storeKey = scope + " " + key;
+        String requestFingerprint = String.valueOf(fingerprint);
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(storeKey);
+            if (entry != null && entry.expiresAt <= now) {
+                entries.remove(storeKey);
+                entry = null;
+            }
+            if (entry != null) {
+                if (!entry.fingerprint.equals(requestFingerprint)) {
+                    throw new BadRequestException(HEADER + " was already used for a different request");
+                }
+                if (entry.response == null) {
+                    throw new ConflictException("A request with this " + HEADER + " is still being processed");
+                }
+                return (ResponseEntity<T>) replay(entry.response);
+            }
+            entries.put(storeKey, new Entry(requestFingerprint, null, now + ttlMillis));
+        }
+
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            synchronized (entries) {
+                entries.remove(storeKey);
+            }
+            throw e;
+        }
+        synchronized (entries) {
+            if (response.getStatusCode().is2xxSuccessful()) {
+                entries.put(storeKey, new Entry(requestFingerprint, response, now + ttlMillis));
+            } else {
+                entries.remove(storeKey);
+            }
+        }
+        return response;
+    }
+
+    private static ResponseEntity<?> replay(ResponseEntity<?> stored) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(stored.getHeaders());
+        headers.set(REPLAYED_HEADER, "true");
+        return new ResponseEntity<>(stored.getBody(), headers, stored.getStatusCode());
+    }
+
+    private static final class Entry {
+        private final String fingerprint;
+        // null while the first request is still running
+        private final ResponseEntity<?> response;
+        private final long expiresAt;
+
+        private Entry(String fingerprint, ResponseEntity<?> response, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
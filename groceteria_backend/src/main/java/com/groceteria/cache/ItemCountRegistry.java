@@ -0,0 +1,157 @@
+package com.groceteria.cache;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.groceteria.dto.ItemDTO;
+import com.groceteria.entity.Category;
+import com.groceteria.event.ItemChangedEvent;
+import com.groceteria.repository.ItemRepository;
+
+/**
+ * Registry of item counts per category and for the whole catalog.
+ * Loaded with a single grouped query, then kept current by item change events,
+ * so paged responses can report totals without a COUNT(*) per request.
+ * Counts are reloaded from the database after a configurable interval to bound
+ * drift caused by writes that bypass the item service.
+ * Readers use an immutable snapshot; the grouped query runs outside the registry
+ * lock, so neither change events nor readers of fresh counts wait behind it.
+ * Item writes run through {@link #trackWrite(Supplier)}: a write commits before its
+ * event is published, so a load overlapping a write cannot tell whether its result
+ * already holds the change and is reloaded on the next read.
+ */
+@Component
+public class ItemCountRegistry {
+
+    private final ItemRepository itemRepository;
+    private final long resyncMillis;
+
+    // Serializes reloads so an expired snapshot triggers one query, not one per reader
+    private final Object loadLock = new Object();
+    // Replaced under this registry's lock; null until loaded and after invalidate()
+    private volatile Snapshot snapshot;
+    private long changes;
+    private int writesInFlight;
+
+    public ItemCountRegistry(ItemRepository itemRepository,
+            @Value("${groceteria.cache.item-counts.resync-seconds:600}") long resyncSeconds) {
+        this.itemRepository = itemRepository;
+        this.resyncMillis = resyncSeconds * 1000;
+    }
+
+    /**
+     * Number of items in the whole catalog.
+     */
+    public long getTotalCount() {
+        return current().total;
+    }
+
+    /**
+     * Number of items in a category.
+     */
+    public long getCount(Category category) {
+        return current().counts.getOrDefault(category, 0L);
+    }
+
+    /**
+     * Force the counts to be reloaded from the database on next access.
+     */
+    public synchronized void invalidate() {
+        snapshot = null;
+    }
+
+    /**
+     * Run an item write that publishes its {@link ItemChangedEvent} before returning.
+     */
+    public <T> T trackWrite(Supplier<T> write) {
+        synchronized (this) {
+            writesInFlight++;
+        }
+        try {
+            return write.get();
+        } finally {
+            synchronized (this) {
+                writesInFlight--;
+                // A load that overlapped a failed write is not trusted either
+                changes++;
+            }
+        }
+    }
+
+    @EventListener
+    public synchronized void onItemChanged(ItemChangedEvent event) {
+        if (event.getBefore() != null && event.getAfter() != null
+                && event.getBefore().getCategory() == event.getAfter().getCategory()) {
+            // Stock and detail changes leave the counts as they are
+            return;
+        }
+        changes++;
+        if (snapshot == null) {
+            // Nothing loaded yet; the first read will see this change in the database
+            return;
+        }
+        Map<Category, Long> counts = new EnumMap<>(snapshot.counts);
+        adjust(counts, event.getBefore(), -1);
+        adjust(counts, event.getAfter(), 1);
+        snapshot = new Snapshot(counts, snapshot.loadedAt);
+    }
+
+    private static void adjust(Map<Category, Long> counts, ItemDTO item, long delta) {
+        if (item != null && item.getCategory() != null) {
+            counts.merge(item.getCategory(), delta, Long::sum);
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (isFresh(current)) {
+            return current;
+        }
+        synchronized (loadLock) {
+            current = snapshot;
+            if (isFresh(current)) {
+                return current;
+            }
+            long now = System.currentTimeMillis();
+            long changesBefore;
+            boolean writing;
+            synchronized (this) {
+                changesBefore = changes;
+                writing = writesInFlight > 0;
+            }
+            Map<Category, Long> counts = new EnumMap<>(Category.class);
+            for (Object[] row : itemRepository.countItemsGroupedByCategory()) {
+                counts.put((Category) row[0], ((Number) row[1]).longValue());
+            }
+            synchronized (this) {
+                // A change made while the query ran may or may not be in its result, so reload on the next read
+                boolean settled = !writing && writesInFlight == 0 && changes == changesBefore;
+                Snapshot loaded = new Snapshot(counts, settled ? now : -1);
+                snapshot = loaded;
+                return loaded;
+            }
+        }
+    }
+
+    private boolean isFresh(Snapshot current) {
+        return current != null && current.loadedAt >= 0
+            && System.currentTimeMillis() - current.loadedAt < resyncMillis;
+    }
+
+    private static final class Snapshot {
+        private final Map<Category, Long> counts;
+        private final long total;
+        private final long loadedAt;
+
+        private Snapshot(Map<Category, Long> counts, long loadedAt) {
+            this.counts = counts;
+            this.total = counts.values().stream().mapToLong(Long::longValue).sum();
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.groceteria.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import com.groceteria.dto.CacheRegionStatsDTO;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Per-region view of the Hibernate second-level cache statistics.
+ * Region sizes and TTLs are configured in ehcache.xml; counters require
+ * {@code hibernate.generate_statistics}.
+ */
+@Component
+public class SecondLevelCacheStats {
+
+    private final Statistics statistics;
+
+    public SecondLevelCacheStats(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public List<CacheRegionStatsDTO> getRegionStats() {
+        String[] regions = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regions);
+        List<CacheRegionStatsDTO> stats = new ArrayList<>();
+        for (String region : regions) {
+            CacheRegionStatistics regionStats = statistics.getCacheRegionStatistics(region);
+            if (regionStats == null) {
+                continue;
+            }
+            long hits = regionStats.getHitCount();
+            long misses = regionStats.getMissCount();
+            stats.add(CacheRegionStatsDTO.builder()
+                .region(region)
+                .hits(hits)
+                .misses(misses)
+                .puts(regionStats.getPutCount())
+                .hitRatio(hits + misses == 0 ? 0.0 : (double) hits / (hits + misses))
+                .build());
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,190 @@
+package com.groceteria.cart;
+
+import java.sql.Timestamp;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Removes cart lines nobody has touched for {@code ttl-days}.
+ * A pass walks the carts table by primary-key range, one chunk of cart IDs at a time, and
+ * runs one short autocommitted DELETE per chunk, so no statement holds row locks on more
+ * than one chunk and no cart entity is ever loaded. Chunks are smaller during peak hours,
+ * and a run stops at its time budget and resumes from the same cart ID on the next run.
+ * Lines written before the last-touched column existed are stamped on their first pass,
+ * so they expire one retention period later instead of being deleted at once. With the
+ * write-behind store, carts currently held in memory are skipped.
+ */
+@Component
+@ConditionalOnProperty(name = "groceteria.cart.sweeper.enabled", havingValue = "true")
+public class AbandonedCartSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(AbandonedCartSweeper.class);
+
+    private static final String RANGE_SQL = "SELECT MIN(cart_id) AS first_id, MAX(cart_id) AS last_id FROM carts";
+    private static final String DELETE_SQL =
+        "DELETE FROM carts WHERE cart_id >= ? AND cart_id < ? AND last_touched < ?";
+    private static final String STALE_USERS_SQL =
+        "SELECT DISTINCT user_id FROM carts WHERE cart_id >= ? AND cart_id < ? AND last_touched < ?";
+    private static final String BACKFILL_SQL =
+        "UPDATE carts SET last_touched = ? WHERE cart_id >= ? AND cart_id < ? AND last_touched IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final WriteBehindCartStore cartStore;
+    private final long ttlMillis;
+    private final int chunkSize;
+    private final int peakChunkSize;
+    private final int peakStartHour;
+    private final int peakEndHour;
+    private final long pauseMillis;
+    private final long maxRunMillis;
+
+    // Next cart ID to sweep and the last cart ID of the current pass; the pass is done once cursor passes passEnd
+    private long cursor = 0;
+    private long passEnd = -1;
+    private long passStartedAt;
+    private long passDeleted;
+    private final AtomicLong lastCompletedPass = new AtomicLong(System.currentTimeMillis());
+
+    private final Counter deletedLines;
+    private final Counter sweptChunks;
+    private final Timer chunkTimer;
+
+    public AbandonedCartSweeper(JdbcTemplate jdbcTemplate, Optional<WriteBehindCartStore> cartStore,
+            MeterRegistry meterRegistry,
+            @Value("${groceteria.cart.sweeper.ttl-days:30}") long ttlDays,
+            @Value("${groceteria.cart.sweeper.chunk-size:5000}") int chunkSize,
+            @Value("${groceteria.cart.sweeper.peak-chunk-size:500}") int peakChunkSize,
+            @Value("${groceteria.cart.sweeper.peak-start-hour:9}") int peakStartHour,
+            @Value("${groceteria.cart.sweeper.peak-end-hour:22}") int peakEndHour,
+            @Value("${groceteria.cart.sweeper.pause-millis:50}") long pauseMillis,
+            @Value("${groceteria.cart.sweeper.max-run-millis:60000}") long maxRunMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cartStore = cartStore.orElse(null);
+        this.ttlMillis = TimeUnit.DAYS.toMillis(ttlDays);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.peakChunkSize = Math.max(1, peakChunkSize);
+        this.peakStartHour = peakStartHour;
+        this.peakEndHour = peakEndHour;
+        this.pauseMillis = pauseMillis;
+        this.maxRunMillis = maxRunMillis;
+
+        this.deletedLines = meterRegistry.counter("groceteria.cart.sweeper.deleted");
+        this.sweptChunks = meterRegistry.counter("groceteria.cart.sweeper.chunks");
+        this.chunkTimer = meterRegistry.timer("groceteria.cart.sweeper.chunk");
+        // How far behind the sweeper is: lines stale before this many seconds ago are guaranteed gone
+        meterRegistry.gauge("groceteria.cart.sweeper.lag.seconds", List.of(), lastCompletedPass,
+            completed -> (System.currentTimeMillis() - completed.get()) / 1000.0);
+    }
+
+    /**
+     * Sweep chunks until the current pass is done or the run budget is spent.
+     *
+     * @return the number of cart lines deleted by this run
+     */
+    @Scheduled(initialDelayString = "${groceteria.cart.sweeper.initial-delay-millis:60000}",
+        fixedDelayString = "${groceteria.cart.sweeper.interval-millis:300000}")
+    public synchronized long sweep() {
+        long started = System.currentTimeMillis();
+        if (cursor > passEnd && !startPass(started)) {
+            lastCompletedPass.set(started);
+            return 0;
+        }
+        long deleted = 0;
+        while (cursor <= passEnd) {
+            if (System.currentTimeMillis() - started >= maxRunMillis) {
+                log.debug("Cart sweep paused at cart ID {} of {} after deleting {} lines", cursor, passEnd, deleted);
+                return deleted;
+            }
+            long to = cursor + (isPeakHour(LocalTime.now().getHour()) ? peakChunkSize : chunkSize);
+            deleted += sweepChunk(cursor, to);
+            cursor = to;
+            if (cursor <= passEnd && pauseMillis > 0) {
+                try {
+                    Thread.sleep(pauseMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return deleted;
+                }
+            }
+        }
+        lastCompletedPass.set(passStartedAt);
+        log.info("Cart sweep deleted {} abandoned cart lines in {} ms", passDeleted,
+            System.currentTimeMillis() - passStartedAt);
+        return deleted;
+    }
+
+    private boolean startPass(long now) {
+        Map<String, Object> range = jdbcTemplate.queryForMap(RANGE_SQL);
+        Number first = (Number) range.get("first_id");
+        Number last = (Number) range.get("last_id");
+        if (first == null || last == null) {
+            return false;
+        }
+        cursor = first.longValue();
+        passEnd = last.longValue();
+        passStartedAt = now;
+        passDeleted = 0;
+        return true;
+    }
+
+    private int sweepChunk(long from, long to) {
+        return chunkTimer.record(() -> {
+            long now = System.currentTimeMillis();
+            Timestamp cutoff = new Timestamp(now - ttlMillis);
+            List<Integer> resident = residentStaleUsers(from, to, cutoff);
+            int deleted;
+            if (resident.isEmpty()) {
+                deleted = jdbcTemplate.update(DELETE_SQL, from, to, cutoff);
+            } else {
+                // The store would keep showing these lines, so they wait until the cart is evicted
+                List<Object> args = new ArrayList<>(List.of(from, to, cutoff));
+                args.addAll(resident);
+                deleted = jdbcTemplate.update(DELETE_SQL + " AND user_id NOT IN ("
+                    + String.join(", ", Collections.nCopies(resident.size(), "?")) + ")", args.toArray());
+            }
+            jdbcTemplate.update(BACKFILL_SQL, new Timestamp(now), from, to);
+            deletedLines.increment(deleted);
+            sweptChunks.increment();
+            passDeleted += deleted;
+            return deleted;
+        });
+    }
+
+    private List<Integer> residentStaleUsers(long from, long to, Timestamp cutoff) {
+        if (cartStore == null) {
+            return List.of();
+        }
+        return jdbcTemplate.queryForList(STALE_USERS_SQL, Integer.class, from, to, cutoff).stream()
+            .filter(cartStore::isResident)
+            .toList();
+    }
+
+    private boolean isPeakHour(int hour) {
+        if (peakStartHour == peakEndHour) {
+            return false;
+        }
+        if (peakStartHour < peakEndHour) {
+            return hour >= peakStartHour && hour < peakEndHour;
+        }
+        // Peak window wraps past midnight
+        return hour >= peakStartHour || hour < peakEndHour;
+    }
+}
@@ -0,0 +1,34 @@
+package com.groceteria.cart;
+
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.stereotype.Component;
+
+import com.groceteria.entity.Cart;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Hands out cart IDs from the Cart entity's pooled sequence generator, for cart rows
+ * written with plain JDBC. IDs never collide with those Hibernate assigns itself.
+ */
+@Component
+public class CartIdGenerator {
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final IdentifierGenerator generator;
+
+    public CartIdGenerator(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.generator = (IdentifierGenerator) sessionFactory.getMappingMetamodel()
+            .getEntityDescriptor(Cart.class).getGenerator();
+    }
+
+    public long nextId() {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            return ((Number) generator.generate((SharedSessionContractImplementor) session, null)).longValue();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.groceteria.cart;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only journal of cart changes that have not reached the carts table yet.
+ * Each entry holds the absolute state of one cart line, so replaying an entry twice is
+ * harmless. The journal is split into numbered segment files: the flusher seals the
+ * current segment before it snapshots dirty carts and deletes sealed segments once that
+ * snapshot is committed.
+ */
+public class CartJournal implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(CartJournal.class);
+
+    private static final String PREFIX = "cart-journal-";
+    private static final String SUFFIX = ".log";
+    private static final String REJECTED = "cart-rejected.log";
+
+    private final Path directory;
+    private final boolean fsync;
+
+    private long segment;
+    private FileOutputStream stream;
+    private Writer writer;
+
+    public CartJournal(Path directory, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.fsync = fsync;
+        Files.createDirectories(directory);
+        List<Long> existing = segments();
+        this.segment = existing.isEmpty() ? 1 : existing.get(existing.size() - 1) + 1;
+        open();
+    }
+
+    /**
+     * Write one entry. Returns once the entry has reached the operating system, or the
+     * disk when fsync is enabled.
+     */
+    public synchronized void append(Entry entry) {
+        try {
+            writer.write(entry.encode());
+            writer.write('\n');
+            writer.flush();
+            if (fsync) {
+                stream.getFD().sync();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write cart journal", e);
+        }
+    }
+
+    /**
+     * Record an entry the database refused to apply. Rejected entries are kept in a separate
+     * file that is never replayed.
+     */
+    public synchronized void reject(Entry entry) {
+        try {
+            Files.writeString(directory.resolve(REJECTED), entry.encode() + "\n", StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            log.warn("Could not record rejected cart journal entry {}", entry.encode(), e);
+        }
+    }
+
+    /**
+     * Close the current segment and start a new one.
+     *
+     * @return the number of the sealed segment
+     */
+    public synchronized long seal() throws IOException {
+        writer.close();
+        long sealed = segment++;
+        open();
+        return sealed;
+    }
+
+    /**
+     * Delete all sealed segments up to and including the given one.
+     */
+    public void deleteThrough(long sealed) throws IOException {
+        for (long number : segments()) {
+            if (number <= sealed) {
+                Files.deleteIfExists(file(number));
+            }
+        }
+    }
+
+    /**
+     * Read every entry of the segments written before this journal was opened, oldest first.
+     * A torn last line from a crash is skipped.
+     */
+    public List<Entry> readPrevious() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        for (long number : segments()) {
+            if (number >= segment) {
+                continue;
+            }
+            for (String line : Files.readAllLines(file(number), StandardCharsets.UTF_8)) {
+                Entry entry = Entry.decode(line);
+                if (entry != null) {
+                    entries.add(entry);
+                } else if (!line.isBlank()) {
+                    log.warn("Skipping unreadable cart journal entry in segment {}: {}", number, line);
+                }
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    private void open() throws IOException {
+        stream = new FileOutputStream(file(segment).toFile(), true);
+        writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+    }
+
+    private Path file(long number) {
+        return directory.resolve(PREFIX + number + SUFFIX);
+    }
+
+    private List<Long> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .map(path -> path.getFileName().toString())
+                .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                .map(name -> name.substring(PREFIX.length(), name.length() - SUFFIX.length()))
+                .filter(number -> !number.isEmpty() && number.chars().allMatch(Character::isDigit))
+                .map(Long::valueOf)
+                .sorted()
+                .toList();
+        }
+    }
+
+    /**
+     * One journal entry: a cart line set to a quantity and price, a cart line removed,
+     * or a user's whole cart cleared.
+     */
+    @lombok.Value
+    public static class Entry {
+        public enum Type { SET, REMOVE, CLEAR }
+
+        Type type;
+        int userId;
+        long itemId;
+        long cartId;
+        long quantity;
+        double mrpPrice;
+
+        public static Entry set(int userId, long itemId, long cartId, long quantity, double mrpPrice) {
+            return new Entry(Type.SET, userId, itemId, cartId, quantity, mrpPrice);
+        }
+
+        public static Entry remove(int userId, long itemId, long cartId) {
+            return new Entry(Type.REMOVE, userId, itemId, cartId, 0, 0);
+        }
+
+        public static Entry clear(int userId) {
+            return new Entry(Type.CLEAR, userId, 0, 0, 0, 0);
+        }
+
+        String encode() {
+            return type + "|" + userId + "|" + itemId + "|" + cartId + "|" + quantity + "|" + mrpPrice;
+        }
+
+        static Entry decode(String line) {
+            String[] fields = line.split("\\|");
+            if (fields.length != 6) {
+                return null;
+            }
+            try {
+                return new Entry(Type.valueOf(fields[0]), Integer.parseInt(fields[1]), Long.parseLong(fields[2]),
+                    Long.parseLong(fields[3]), Long.parseLong(fields[4]), Double.parseDouble(fields[5]));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.groceteria.cart;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Striped locks that serialize cart mutations of the same user.
+ * Each user ID hashes to one of a fixed number of locks, so changes to one user's cart
+ * never interleave while different users mostly proceed in parallel. Two users sharing a
+ * stripe only wait for each other briefly. These are in-process locks; the unique
+ * (user_id, item_id) constraint on carts keeps several instances consistent.
+ */
+@Component
+public class CartLocks {
+
+    private final ReentrantLock[] stripes;
+
+    public CartLocks(@Value("${groceteria.cart.lock-stripes:256}") int stripes) {
+        // Round up to a power of two so a mask selects the stripe
+        int size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Run an action while holding the lock of the user's stripe.
+     */
+    public <T> T withUserLock(Integer userId, Supplier<T> action) {
+        ReentrantLock lock = stripeFor(userId);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    ReentrantLock stripeFor(int userId) {
+        // Spread consecutive user IDs across stripes
+        int hash = userId * 0x9E3779B9;
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+}
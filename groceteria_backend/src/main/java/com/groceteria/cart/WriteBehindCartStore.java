@@ -0,0 +1,637 @@
+package com.groceteria.cart;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.groceteria.cart.CartJournal.Entry;
+import com.groceteria.dto.CartDTO;
+import com.groceteria.dto.CartLineOperationDTO;
+import com.groceteria.repository.CartRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-memory, write-behind store for active carts, keyed by user ID.
+ * A user's cart is loaded from the carts table on first use and then served from memory.
+ * Changes mark cart lines dirty, so any number of quantity changes between two flushes
+ * become a single row write. Dirty lines are written in JDBC batches on a fixed interval,
+ * and for one user on demand (checkout). Every change is journaled to a local file before
+ * it is acknowledged and replayed at startup, so a crash loses no acknowledged change.
+ * Cart IDs come from {@link CartIdGenerator}, so they are stable from the first response on.
+ */
+@Component
+@ConditionalOnProperty(name = "groceteria.cart.store", havingValue = "write-behind")
+public class WriteBehindCartStore {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindCartStore.class);
+
+    private static final String INSERT_SQL =
+        "INSERT INTO carts (cart_id, quantity, mrp_price, item_id, user_id, last_touched) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL = "UPDATE carts SET quantity = ?, mrp_price = ?, last_touched = ? WHERE cart_id = ?";
+    private static final String DELETE_SQL = "DELETE FROM carts WHERE cart_id = ?";
+
+    private final CartRepository cartRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate flushTransaction;
+    private final CartIdGenerator cartIdGenerator;
+    private final CartJournal journal;
+    private final int batchSize;
+    private final long idleEvictMillis;
+
+    private final Map<Integer, UserCart> carts = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> owners = new ConcurrentHashMap<>();
+    private final Set<Integer> dirtyUsers = ConcurrentHashMap.newKeySet();
+    // Serializes flushes with each other and with clearing a cart
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Counter flushedLines;
+    private final Counter failedFlushes;
+    private final Counter rejectedLines;
+
+    public WriteBehindCartStore(CartRepository cartRepository, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager, CartIdGenerator cartIdGenerator,
+            MeterRegistry meterRegistry,
+            @Value("${groceteria.cart.write-behind.journal-dir:data/cart-journal}") String journalDir,
+            @Value("${groceteria.cart.write-behind.fsync:false}") boolean fsync,
+            @Value("${groceteria.cart.write-behind.batch-size:500}") int batchSize,
+            @Value("${groceteria.cart.write-behind.idle-evict-seconds:900}") long idleEvictSeconds) throws IOException {
+        this.cartRepository = cartRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushTransaction = new TransactionTemplate(transactionManager);
+        this.flushTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.cartIdGenerator = cartIdGenerator;
+        this.journal = new CartJournal(Paths.get(journalDir), fsync);
+        this.batchSize = batchSize;
+        this.idleEvictMillis = idleEvictSeconds * 1000;
+
+        meterRegistry.gaugeMapSize("groceteria.cart.store.carts", List.of(), carts);
+        meterRegistry.gaugeCollectionSize("groceteria.cart.store.dirty", List.of(), dirtyUsers);
+        this.flushedLines = meterRegistry.counter("groceteria.cart.store.flushed.lines");
+        this.failedFlushes = meterRegistry.counter("groceteria.cart.store.flush.failures");
+        this.rejectedLines = meterRegistry.counter("groceteria.cart.store.rejected.lines");
+    }
+
+    /**
+     * Replay changes journaled before the last shutdown or crash and write them out.
+     */
+    @PostConstruct
+    public void recover() throws IOException {
+        List<Entry> entries = journal.readPrevious();
+        if (entries.isEmpty()) {
+            return;
+        }
+        for (Entry entry : entries) {
+            if (entry.getType() == Entry.Type.CLEAR) {
+                dropCart(entry.getUserId());
+                cartRepository.deleteByUserId(entry.getUserId());
+                continue;
+            }
+            mutate(entry.getUserId(), cart -> {
+                CartLine line = cart.lines.get(entry.getCartId());
+                if (entry.getType() == Entry.Type.SET) {
+                    if (line == null) {
+                        // Never two live lines for one item: (user_id, item_id) is unique
+                        line = liveLine(cart, entry.getItemId());
+                    }
+                    if (line == null) {
+                        line = new CartLine(entry.getCartId(), entry.getItemId(), false);
+                        cart.lines.put(line.cartId, line);
+                        owners.put(line.cartId, cart.userId);
+                    }
+                    line.quantity = entry.getQuantity();
+                    line.mrpPrice = entry.getMrpPrice();
+                    line.deleted = false;
+                } else if (line != null) {
+                    line.deleted = true;
+                }
+                if (line != null) {
+                    markDirty(cart, line);
+                }
+                return null;
+            });
+        }
+        log.info("Replayed {} cart journal entries for {} users", entries.size(), dirtyUsers.size());
+        flushAll();
+    }
+
+    /**
+     * Whether the user's cart is currently held in memory.
+     */
+    public boolean isResident(Integer userId) {
+        return carts.containsKey(userId);
+    }
+
+    public List<CartDTO> getCart(Integer userId) {
+        return mutate(userId, this::liveLines);
+    }
+
+    public long count(Integer userId) {
+        return mutate(userId, cart -> cart.lines.values().stream().filter(line -> !line.deleted).count());
+    }
+
+    /**
+     * Add a quantity of an item, merging with an existing line for the same item.
+     */
+    public CartDTO add(Integer userId, Long itemId, Long quantity, Double mrpPrice) {
+        return mutate(userId, cart -> {
+            CartLine line = liveLine(cart, itemId);
+            return toDTO(cart.userId, setLine(cart, itemId, line, line == null ? quantity : line.quantity + quantity, mrpPrice));
+        });
+    }
+
+    /**
+     * Apply several add, set and remove operations to a user's cart at once.
+     *
+     * @param prices current price of every item named by the operations
+     * @return the user's cart after the operations
+     */
+    public List<CartDTO> apply(Integer userId, List<CartLineOperationDTO> operations, Map<Long, Double> prices) {
+        return mutate(userId, cart -> {
+            for (CartLineOperationDTO operation : operations) {
+                Long itemId = operation.getItemId();
+                CartLine line = liveLine(cart, itemId);
+                if (operation.getAction() == CartLineOperationDTO.Action.REMOVE) {
+                    if (line != null) {
+                        removeLine(cart, line);
+                    }
+                    continue;
+                }
+                long quantity = operation.getAction() == CartLineOperationDTO.Action.ADD && line != null
+                    ? line.quantity + operation.getQuantity() : operation.getQuantity();
+                setLine(cart, itemId, line, quantity, prices.get(itemId));
+            }
+            return liveLines(cart);
+        });
+    }
+
+    public Optional<CartDTO> find(Long cartId) {
+        Integer userId = ownerOf(cartId);
+        if (userId == null) {
+            return Optional.empty();
+        }
+        return mutate(userId, cart -> {
+            CartLine line = cart.lines.get(cartId);
+            return line == null || line.deleted ? Optional.<CartDTO>empty() : Optional.of(toDTO(cart.userId, line));
+        });
+    }
+
+    /**
+     * Set the quantity, and the price when given, of a cart line.
+     */
+    public Optional<CartDTO> update(Long cartId, Long quantity, Double mrpPrice) {
+        Integer userId = ownerOf(cartId);
+        if (userId == null) {
+            return Optional.empty();
+        }
+        return mutate(userId, cart -> {
+            CartLine line = cart.lines.get(cartId);
+            if (line == null || line.deleted) {
+                return Optional.<CartDTO>empty();
+            }
+            return Optional.of(toDTO(cart.userId,
+                setLine(cart, line.itemId, line, quantity, mrpPrice != null ? mrpPrice : line.mrpPrice)));
+        });
+    }
+
+    public boolean remove(Long cartId) {
+        Integer userId = ownerOf(cartId);
+        if (userId == null) {
+            return false;
+        }
+        return mutate(userId, cart -> {
+            CartLine line = cart.lines.get(cartId);
+            if (line == null || line.deleted) {
+                return false;
+            }
+            removeLine(cart, line);
+            return true;
+        });
+    }
+
+    /**
+     * Remove every line of the user's cart, in memory and in the carts table. The table
+     * delete joins the caller's transaction, so at checkout it commits with the order.
+     */
+    public void clear(Integer userId) {
+        flushLock.lock();
+        try {
+            dropCart(userId);
+            journal.append(Entry.clear(userId));
+        } finally {
+            flushLock.unlock();
+        }
+        cartRepository.deleteByUserId(userId);
+    }
+
+    /**
+     * Write the pending changes of one user's cart.
+     */
+    public void flush(Integer userId) {
+        // Lock before checking: a running flushAll has already taken the user out of the
+        // dirty set but may not have committed the user's lines yet
+        flushLock.lock();
+        try {
+            if (!dirtyUsers.contains(userId)) {
+                return;
+            }
+            write(List.of(userId));
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Write the pending changes of every cart in batches, then drop the journal segments
+     * they were recorded in and evict carts that have been idle for too long.
+     */
+    @Scheduled(fixedDelayString = "${groceteria.cart.write-behind.flush-interval-millis:1000}")
+    public void flushAll() {
+        flushLock.lock();
+        try {
+            // Seal first: every entry in the sealed segments belongs to a user already marked dirty
+            long sealed = journal.seal();
+            List<Integer> users = new ArrayList<>(dirtyUsers);
+            List<Integer> chunk = new ArrayList<>();
+            int chunkLines = 0;
+            for (Integer userId : users) {
+                chunk.add(userId);
+                UserCart cart = carts.get(userId);
+                chunkLines += cart == null ? 0 : cart.dirtyLines;
+                if (chunkLines >= batchSize) {
+                    write(chunk);
+                    chunk.clear();
+                    chunkLines = 0;
+                }
+            }
+            write(chunk);
+            journal.deleteThrough(sealed);
+        } catch (IOException | RuntimeException e) {
+            failedFlushes.increment();
+            log.error("Cart flush failed; pending changes stay in memory and in the journal", e);
+        } finally {
+            flushLock.unlock();
+        }
+        evictIdle();
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        flushAll();
+        journal.close();
+    }
+
+    // Caller holds flushLock
+    private void write(List<Integer> userIds) {
+        List<Pending> pending = new ArrayList<>();
+        for (Integer userId : userIds) {
+            dirtyUsers.remove(userId);
+            UserCart cart = carts.get(userId);
+            if (cart == null) {
+                continue;
+            }
+            synchronized (cart) {
+                for (CartLine line : cart.lines.values()) {
+                    if (line.dirty) {
+                        pending.add(new Pending(cart, line));
+                        line.dirty = false;
+                    }
+                }
+                cart.dirtyLines = 0;
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            writeIsolated(pending);
+        } catch (RuntimeException e) {
+            for (Pending change : pending) {
+                if (!change.resolved) {
+                    synchronized (change.cart) {
+                        markDirty(change.cart, change.line);
+                    }
+                }
+            }
+            throw e;
+        }
+    }
+
+    // Write the changes in one transaction. When a constraint rejects the batch, each user's
+    // changes and then each line are retried on their own, so a line the database will never
+    // accept, such as one for an item deleted after it was added, only holds back itself.
+    // Other failures, such as a lost connection, are not retried here.
+    private void writeIsolated(List<Pending> pending) {
+        try {
+            writeBatch(pending);
+        } catch (DataIntegrityViolationException e) {
+            if (pending.size() == 1) {
+                reject(pending.get(0), e);
+                return;
+            }
+            Map<Integer, List<Pending>> byUser = new LinkedHashMap<>();
+            for (Pending change : pending) {
+                byUser.computeIfAbsent(change.cart.userId, userId -> new ArrayList<>()).add(change);
+            }
+            if (byUser.size() > 1) {
+                for (List<Pending> changes : byUser.values()) {
+                    writeIsolated(changes);
+                }
+            } else {
+                // In line order, so an item's old row is deleted before its new row is inserted
+                for (Pending change : pending) {
+                    writeIsolated(List.of(change));
+                }
+            }
+        }
+    }
+
+    private void writeBatch(List<Pending> pending) {
+        List<Pending> inserts = new ArrayList<>();
+        List<Pending> updates = new ArrayList<>();
+        List<Pending> deletes = new ArrayList<>();
+        for (Pending change : pending) {
+            if (change.deleted) {
+                if (change.persisted) {
+                    deletes.add(change);
+                }
+            } else if (change.persisted) {
+                updates.add(change);
+            } else {
+                inserts.add(change);
+            }
+        }
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        flushTransaction.executeWithoutResult(status -> {
+            // Deletes first, so an item removed and added again never has two rows at once
+            jdbcTemplate.batchUpdate(DELETE_SQL, deletes, batchSize, (ps, change) -> ps.setLong(1, change.cartId));
+            int[][] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, updates, batchSize, (ps, change) -> {
+                ps.setLong(1, change.quantity);
+                ps.setDouble(2, change.mrpPrice);
+                ps.setTimestamp(3, now);
+                ps.setLong(4, change.cartId);
+            });
+            // A row deleted behind the store's back, e.g. by the abandoned-cart sweeper, is written again
+            List<Pending> missing = new ArrayList<>();
+            for (int batch = 0; batch < updated.length; batch++) {
+                for (int i = 0; i < updated[batch].length; i++) {
+                    if (updated[batch][i] == 0) {
+                        missing.add(updates.get(batch * batchSize + i));
+                    }
+                }
+            }
+            if (!missing.isEmpty()) {
+                log.warn("Re-inserting {} cart lines that were missing from the carts table", missing.size());
+            }
+            List<Pending> rows = new ArrayList<>(inserts);
+            rows.addAll(missing);
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows, batchSize, (ps, change) -> {
+                ps.setLong(1, change.cartId);
+                ps.setLong(2, change.quantity);
+                ps.setDouble(3, change.mrpPrice);
+                ps.setLong(4, change.itemId);
+                ps.setInt(5, change.cart.userId);
+                ps.setTimestamp(6, now);
+            });
+        });
+
+        for (Pending change : pending) {
+            change.resolved = true;
+            synchronized (change.cart) {
+                if (!change.deleted) {
+                    change.line.persisted = true;
+                } else if (change.line.deleted && !change.line.dirty) {
+                    change.cart.lines.remove(change.cartId);
+                    owners.remove(change.cartId);
+                }
+            }
+        }
+        flushedLines.increment(pending.size());
+    }
+
+    // Set aside a line the database rejected on its own: drop it from the cart, count it
+    // and record it in the journal directory. A rejected update leaves the row as it was,
+    // and the row reappears the next time the cart is loaded.
+    private void reject(Pending change, DataIntegrityViolationException e) {
+        change.resolved = true;
+        rejectedLines.increment();
+        log.error("Cart line {} of user {} (item {}, quantity {}) was rejected and dropped from the cart: {}",
+            change.cartId, change.cart.userId, change.itemId, change.quantity, e.getMostSpecificCause().getMessage());
+        journal.reject(change.deleted ? Entry.remove(change.cart.userId, change.itemId, change.cartId)
+            : Entry.set(change.cart.userId, change.itemId, change.cartId, change.quantity, change.mrpPrice));
+        synchronized (change.cart) {
+            if (!change.line.dirty) {
+                change.cart.lines.remove(change.cartId);
+                owners.remove(change.cartId);
+            }
+        }
+    }
+
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleEvictMillis;
+        Iterator<UserCart> it = carts.values().iterator();
+        while (it.hasNext()) {
+            UserCart cart = it.next();
+            synchronized (cart) {
+                if (cart.lastAccess < cutoff && cart.dirtyLines == 0 && !dirtyUsers.contains(cart.userId)) {
+                    cart.evicted = true;
+                    it.remove();
+                    cart.lines.keySet().forEach(owners::remove);
+                }
+            }
+        }
+    }
+
+    // Run an action on the user's cart under its lock, loading the cart if needed
+    private <T> T mutate(Integer userId, Function<UserCart, T> action) {
+        while (true) {
+            UserCart cart = loadCart(userId);
+            synchronized (cart) {
+                if (cart.evicted) {
+                    continue;
+                }
+                cart.lastAccess = System.currentTimeMillis();
+                return action.apply(cart);
+            }
+        }
+    }
+
+    private UserCart loadCart(Integer userId) {
+        UserCart cart = carts.get(userId);
+        if (cart != null) {
+            return cart;
+        }
+        UserCart loaded = new UserCart(userId);
+        for (CartDTO row : cartRepository.findByUserIdAsDTO(userId)) {
+            CartLine line = new CartLine(row.getCartId(), row.getItemId(), true);
+            line.quantity = row.getQuantity();
+            line.mrpPrice = row.getMrpPrice();
+            loaded.lines.put(line.cartId, line);
+        }
+        UserCart existing = carts.putIfAbsent(userId, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        loaded.lines.keySet().forEach(cartId -> owners.put(cartId, userId));
+        return loaded;
+    }
+
+    private void dropCart(Integer userId) {
+        UserCart cart = carts.remove(userId);
+        dirtyUsers.remove(userId);
+        if (cart != null) {
+            synchronized (cart) {
+                cart.evicted = true;
+                cart.lines.keySet().forEach(owners::remove);
+            }
+        }
+    }
+
+    private Integer ownerOf(Long cartId) {
+        Integer userId = owners.get(cartId);
+        if (userId != null) {
+            return userId;
+        }
+        // Not in memory yet; the owner's cart is loaded on the next access
+        return cartRepository.findById(cartId).map(cart -> cart.getUser().getUserId()).orElse(null);
+    }
+
+    // The helpers below run with the cart lock held
+
+    private List<CartDTO> liveLines(UserCart cart) {
+        List<CartDTO> lines = new ArrayList<>();
+        for (CartLine line : cart.lines.values()) {
+            if (!line.deleted) {
+                lines.add(toDTO(cart.userId, line));
+            }
+        }
+        return lines;
+    }
+
+    private static CartLine liveLine(UserCart cart, long itemId) {
+        for (CartLine line : cart.lines.values()) {
+            if (!line.deleted && line.itemId == itemId) {
+                return line;
+            }
+        }
+        return null;
+    }
+
+    // Set a line's quantity and price, creating the line when it is null
+    private CartLine setLine(UserCart cart, long itemId, CartLine line, long quantity, double mrpPrice) {
+        if (line == null) {
+            line = new CartLine(cartIdGenerator.nextId(), itemId, false);
+            cart.lines.put(line.cartId, line);
+            owners.put(line.cartId, cart.userId);
+        }
+        line.quantity = quantity;
+        line.mrpPrice = mrpPrice;
+        markDirty(cart, line);
+        journal.append(Entry.set(cart.userId, line.itemId, line.cartId, line.quantity, line.mrpPrice));
+        return line;
+    }
+
+    private void removeLine(UserCart cart, CartLine line) {
+        line.deleted = true;
+        markDirty(cart, line);
+        journal.append(Entry.remove(cart.userId, line.itemId, line.cartId));
+    }
+
+    // Marking happens before journaling so a sealed segment
+    // never holds an entry for a user the flusher does not see as dirty
+    private void markDirty(UserCart cart, CartLine line) {
+        if (!line.dirty) {
+            line.dirty = true;
+            cart.dirtyLines++;
+        }
+        dirtyUsers.add(cart.userId);
+    }
+
+    private static CartDTO toDTO(int userId, CartLine line) {
+        return CartDTO.builder()
+            .cartId(line.cartId)
+            .quantity(line.quantity)
+            .mrpPrice(line.mrpPrice)
+            .itemId(line.itemId)
+            .userId(userId)
+            .build();
+    }
+
+    private static final class UserCart {
+        private final int userId;
+        private final Map<Long, CartLine> lines = new LinkedHashMap<>();
+        private int dirtyLines;
+        private long lastAccess = System.currentTimeMillis();
+        private boolean evicted;
+
+        private UserCart(int userId) {
+            this.userId = userId;
+        }
+    }
+
+    private static final class CartLine {
+        private final long cartId;
+        private final long itemId;
+        private long quantity;
+        private double mrpPrice;
+        private boolean persisted;
+        private boolean dirty;
+        private boolean deleted;
+
+        private CartLine(long cartId, long itemId, boolean persisted) {
+            this.cartId = cartId;
+            this.itemId = itemId;
+            this.persisted = persisted;
+        }
+    }
+
+    // Copy of a dirty line taken under the cart lock
+    private static final class Pending {
+        private final UserCart cart;
+        private final CartLine line;
+        private final long cartId;
+        private final long itemId;
+        private final long quantity;
+        private final double mrpPrice;
+        private final boolean persisted;
+        private final boolean deleted;
+        // Written or rejected; unresolved changes are marked dirty again when a flush fails
+        private boolean resolved;
+
+        private Pending(UserCart cart, CartLine line) {
+            this.cart = cart;
+            this.line = line;
+            this.cartId = line.cartId;
+            this.itemId = line.itemId;
+            this.quantity = line.quantity;
+            this.mrpPrice = line.mrpPrice;
+            this.persisted = line.persisted;
+            this.deleted = line.deleted;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.groceteria.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.groceteria.datasource.AdmissionControlledDataSource;
+import com.groceteria.logging.SqlLoggingDataSource;
+
+/**
+ * Wraps the application DataSource in the optional layers below, innermost first:
+ * <ul>
+ * <li>{@link AdmissionControlledDataSource} when {@code groceteria.datasource.admission}
+ * is enabled (the virtual thread profile). Permits default to the Hikari maximum pool
+ * size, which makes the pool the concurrency limit for database work.</li>
+ * <li>{@link SqlLoggingDataSource} when sampled SQL logging or the slow-query log is
+ * switched on under {@code groceteria.logging.sql}, or the per-request query inspector
+ * under {@code groceteria.diagnostics.queries}.</li>
+ * </ul>
+ * With all of them off the pool is used unwrapped.
+ */
+@Configuration
+public class DataSourceWrapperConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceWrapperPostProcessor(
+            @Value("${groceteria.datasource.admission.enabled:false}") boolean admissionEnabled,
+            @Value("${groceteria.datasource.admission.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+            @Value("${groceteria.datasource.admission.timeout-millis:30000}") long admissionTimeoutMillis,
+            @Value("${groceteria.logging.sql.sample-rate:0}") double sampleRate,
+            @Value("${groceteria.logging.sql.slow-threshold-millis:0}") long slowThresholdMillis,
+            @Value("${groceteria.diagnostics.queries.enabled:false}") boolean inspectQueries) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof SqlLoggingDataSource
+                        || bean instanceof AdmissionControlledDataSource) {
+                    return bean;
+                }
+                if (admissionEnabled) {
+                    dataSource = new AdmissionControlledDataSource(dataSource, permits, admissionTimeoutMillis);
+                }
+                if (sampleRate > 0 || slowThresholdMillis > 0 || inspectQueries) {
+                    dataSource = new SqlLoggingDataSource(dataSource, sampleRate, slowThresholdMillis);
+                }
+                return dataSource;
+            }
+        };
+    }
+}
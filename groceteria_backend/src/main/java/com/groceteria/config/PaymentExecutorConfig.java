@@ -0,0 +1,37 @@
+package com.groceteria.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor configuration for asynchronous payment processing.
+ * Gateway calls run on this dedicated, bounded pool so slow gateways never tie up
+ * Tomcat request threads; when the queue is full new payments are rejected instead
+ * of piling up. With virtual threads enabled (Java 21+) the pool threads are virtual;
+ * the pool size and queue still bound concurrent gateway calls.
+ */
+@Configuration
+public class PaymentExecutorConfig {
+
+    @Bean(name = "paymentExecutor")
+    public ThreadPoolTaskExecutor paymentExecutor(Environment environment,
+            @Value("${groceteria.payment.executor.pool-size:16}") int poolSize,
+            @Value("${groceteria.payment.executor.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("payment-");
+        if (Threading.VIRTUAL.isActive(environment)) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("payment-").getVirtualThreadFactory());
+        }
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -0,0 +1,14 @@
+package com.groceteria.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs such as the write-behind cart flush and the
+ * abandoned-cart sweeper. The jobs share the scheduler pool sized by
+ * {@code spring.task.scheduling.pool.size}.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
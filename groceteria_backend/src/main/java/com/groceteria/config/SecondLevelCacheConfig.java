@@ -0,0 +1,45 @@
+package com.groceteria.config;
+
+import java.net.URI;
+import java.net.URL;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.ehcache.xml.XmlConfiguration;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Gives each application context its own JCache cache manager for the Hibernate
+ * second-level cache. JCache hands out one manager per URI for the whole JVM, so with
+ * a shared URI, closing any context (a finished or failed test context, for example)
+ * would close the cache regions of every other context.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(
+            @Value("${groceteria.cache.second-level.config:ehcache.xml}") String configLocation) {
+        ClassLoader classLoader = getClass().getClassLoader();
+        URL config = classLoader.getResource(configLocation);
+        if (config == null) {
+            throw new IllegalStateException("Second-level cache configuration " + configLocation + " not found on the classpath");
+        }
+        EhcacheCachingProvider provider =
+            (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        return provider.getCacheManager(URI.create("urn:groceteria:second-level-cache:" + UUID.randomUUID()),
+            new XmlConfiguration(config, classLoader));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManagerCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+    }
+}
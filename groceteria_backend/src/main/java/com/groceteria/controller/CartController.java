@@ -17,6 +17,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.groceteria.dto.CartDTO;
+import com.groceteria.dto.CartLineOperationDTO;
+import com.groceteria.dto.CartSummaryDTO;
 import com.groceteria.service.CartService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -138,6 +140,21 @@ public class CartController {
         return new ResponseEntity<>(cartItems, HttpStatus.OK);
     }
     
+    /**
+     * Get a user's cart summary.
+     */
+    @GetMapping("/user/{userId}/summary")
+    @Operation(summary = "Get cart summary", description = "Retrieves the user's cart lines with item details, line totals and grand total at current prices")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cart summary retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = CartSummaryDTO.class)))
+    })
+    public ResponseEntity<CartSummaryDTO> getCartSummary(
+            @Parameter(description = "User ID") @PathVariable("userId") Integer userId) {
+        CartSummaryDTO summary = cartService.getCartSummary(userId);
+        return new ResponseEntity<>(summary, HttpStatus.OK);
+    }
+    
     /**
      * Update cart item quantity.
      */
@@ -155,6 +172,24 @@ public class CartController {
         return new ResponseEntity<>(updatedCart, HttpStatus.OK);
     }
     
+    /**
+     * Apply several cart operations in one request.
+     */
+    @PostMapping("/user/{userId}/batch")
+    @Operation(summary = "Update several cart items", description = "Applies add, set and remove operations to the user's cart in order, in one transaction")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Operations applied; returns the user's cart",
+                    content = @Content(schema = @Schema(implementation = CartDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid operations, or too many in one request"),
+        @ApiResponse(responseCode = "404", description = "Item or user not found")
+    })
+    public ResponseEntity<List<CartDTO>> applyCartOperations(
+            @Parameter(description = "User ID") @PathVariable("userId") Integer userId,
+            @Valid @RequestBody List<@Valid CartLineOperationDTO> operations) {
+        List<CartDTO> cartItems = cartService.applyCartOperations(userId, operations);
+        return new ResponseEntity<>(cartItems, HttpStatus.OK);
+    }
+    
     /**
      * Get cart item count by user.
      */
@@ -0,0 +1,47 @@
+package com.groceteria.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.groceteria.cache.SecondLevelCacheStats;
+import com.groceteria.dto.CacheRegionStatsDTO;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * REST controller for runtime diagnostics.
+ * Exposes the Hibernate second-level cache statistics. The query inspector's report
+ * contains SQL text and is served by the {@code queries} actuator endpoint instead.
+ */
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/api/v1/diagnostics")
+@Tag(name = "Diagnostics", description = "APIs for inspecting second-level cache regions")
+public class DiagnosticsController {
+
+    @Autowired
+    private SecondLevelCacheStats secondLevelCacheStats;
+
+    /**
+     * Get hit, miss and put counters per second-level cache region.
+     */
+    @GetMapping("/cache-regions")
+    @Operation(summary = "Get second-level cache statistics", description = "Retrieves hit, miss and put counters for each Hibernate second-level cache region")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully")
+    })
+    public ResponseEntity<List<CacheRegionStatsDTO>> getCacheRegionStats() {
+        List<CacheRegionStatsDTO> stats = secondLevelCacheStats.getRegionStats();
+        return new ResponseEntity<>(stats, HttpStatus.OK);
+    }
+}
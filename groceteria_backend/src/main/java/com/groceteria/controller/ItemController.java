@@ -16,9 +16,15 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.groceteria.dto.CacheStatsDTO;
+import com.groceteria.dto.ItemCursorPagingDTO;
 import com.groceteria.dto.ItemDTO;
 import com.groceteria.dto.ItemPagingDTO;
+import com.groceteria.dto.ItemSuggestionDTO;
+import com.groceteria.dto.StockLineDTO;
+import com.groceteria.dto.StockReservationDTO;
 import com.groceteria.entity.Category;
+import com.groceteria.service.InventoryService;
 import com.groceteria.service.ItemService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -43,6 +49,9 @@ public class ItemController {
 	@Autowired
 	private ItemService itemService;
 	
+	@Autowired
+	private InventoryService inventoryService;
+	
     /**
      * Add a new item (for vendors only).
      */
@@ -126,6 +135,35 @@ public class ItemController {
         return new ResponseEntity<>(updatedItem, HttpStatus.OK);
     }
     
+    /**
+     * Reserve stock for several items atomically.
+     */
+    @PostMapping("/stock/reserve")
+    @Operation(summary = "Reserve stock", description = "Atomically decrements stock for all lines; nothing is reserved if any line lacks stock")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stock reserved",
+                    content = @Content(schema = @Schema(implementation = StockReservationDTO.class))),
+        @ApiResponse(responseCode = "409", description = "Some lines could not be reserved",
+                    content = @Content(schema = @Schema(implementation = StockReservationDTO.class)))
+    })
+    public ResponseEntity<StockReservationDTO> reserveStock(@Valid @RequestBody List<@Valid StockLineDTO> lines) {
+        StockReservationDTO reservation = inventoryService.reserve(lines);
+        return new ResponseEntity<>(reservation, reservation.isReserved() ? HttpStatus.OK : HttpStatus.CONFLICT);
+    }
+    
+    /**
+     * Release previously reserved stock.
+     */
+    @PostMapping("/stock/release")
+    @Operation(summary = "Release stock", description = "Returns previously reserved stock to the items")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stock released")
+    })
+    public ResponseEntity<Void> releaseStock(@Valid @RequestBody List<@Valid StockLineDTO> lines) {
+        inventoryService.release(lines);
+        return new ResponseEntity<>(HttpStatus.OK);
+    }
+    
     /**
      * Delete item by ID.
      */
@@ -163,13 +201,15 @@ public class ItemController {
     @Operation(summary = "Get items by category with pagination", description = "Retrieves items in a category with pagination")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Items retrieved successfully",
-                    content = @Content(schema = @Schema(implementation = ItemPagingDTO.class)))
+                    content = @Content(schema = @Schema(implementation = ItemPagingDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid page number or page size")
     })
     public ResponseEntity<ItemPagingDTO> getItemsByCategoryPaged(
             @Parameter(description = "Category") @PathVariable("category") Category category,
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") Integer pageNo,
-            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") Integer pageSize) {
-        ItemPagingDTO items = itemService.findItemsByCategory(category, pageNo, pageSize);
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") Integer pageSize,
+            @Parameter(description = "Set to false to skip the total count (totalItems = -1)") @RequestParam(defaultValue = "true") boolean exactCount) {
+        ItemPagingDTO items = itemService.findItemsByCategory(category, pageNo, pageSize, exactCount);
         return new ResponseEntity<>(items, HttpStatus.OK);
     }
     
@@ -180,12 +220,49 @@ public class ItemController {
     @Operation(summary = "Get all items with pagination", description = "Retrieves all items with pagination")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Items retrieved successfully",
-                    content = @Content(schema = @Schema(implementation = ItemPagingDTO.class)))
+                    content = @Content(schema = @Schema(implementation = ItemPagingDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid page number or page size")
     })
     public ResponseEntity<ItemPagingDTO> getAllItemsPaged(
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") Integer pageNo,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") Integer pageSize,
+            @Parameter(description = "Set to false to skip the total count (totalItems = -1)") @RequestParam(defaultValue = "true") boolean exactCount) {
+        ItemPagingDTO items = itemService.getAllItems(pageNo, pageSize, exactCount);
+        return new ResponseEntity<>(items, HttpStatus.OK);
+    }
+    
+    /**
+     * Get all items with cursor (keyset) pagination.
+     */
+    @GetMapping("/cursor")
+    @Operation(summary = "Get all items with cursor pagination", description = "Retrieves items after the given cursor without counting the catalog")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Items retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ItemCursorPagingDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
+    })
+    public ResponseEntity<ItemCursorPagingDTO> getAllItemsByCursor(
+            @Parameter(description = "Cursor returned by the previous page (omit for the first page)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") Integer pageSize) {
+        ItemCursorPagingDTO items = itemService.getAllItemsByCursor(cursor, pageSize);
+        return new ResponseEntity<>(items, HttpStatus.OK);
+    }
+    
+    /**
+     * Get items by category with cursor (keyset) pagination.
+     */
+    @GetMapping("/category/{category}/cursor")
+    @Operation(summary = "Get items by category with cursor pagination", description = "Retrieves items in a category after the given cursor without counting the catalog")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Items retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ItemCursorPagingDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
+    })
+    public ResponseEntity<ItemCursorPagingDTO> getItemsByCategoryByCursor(
+            @Parameter(description = "Category") @PathVariable("category") Category category,
+            @Parameter(description = "Cursor returned by the previous page (omit for the first page)") @RequestParam(required = false) String cursor,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") Integer pageSize) {
-        ItemPagingDTO items = itemService.getAllItems(pageNo, pageSize);
+        ItemCursorPagingDTO items = itemService.findItemsByCategoryByCursor(category, cursor, pageSize);
         return new ResponseEntity<>(items, HttpStatus.OK);
     }
     
@@ -208,10 +285,11 @@ public class ItemController {
      * Search items by name with pagination.
      */
     @GetMapping("/search")
-    @Operation(summary = "Search items by name", description = "Searches items by name with pagination")
+    @Operation(summary = "Search items by name", description = "Searches item names and descriptions with prefix matching and relevance ranking")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Items retrieved successfully",
-                    content = @Content(schema = @Schema(implementation = ItemPagingDTO.class)))
+                    content = @Content(schema = @Schema(implementation = ItemPagingDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid page number or page size")
     })
     public ResponseEntity<ItemPagingDTO> searchItemsByName(
             @Parameter(description = "Search keyword") @RequestParam String keyword,
@@ -221,6 +299,22 @@ public class ItemController {
         return new ResponseEntity<>(items, HttpStatus.OK);
     }
     
+    /**
+     * Suggest items for type-ahead search.
+     */
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest items", description = "Returns the best stocked items whose name starts with the prefix, served from memory")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ItemSuggestionDTO.class)))
+    })
+    public ResponseEntity<List<ItemSuggestionDTO>> suggestItems(
+            @Parameter(description = "Prefix typed so far") @RequestParam String prefix,
+            @Parameter(description = "Maximum number of suggestions") @RequestParam(defaultValue = "10") Integer limit) {
+        List<ItemSuggestionDTO> suggestions = itemService.suggestItems(prefix, limit);
+        return new ResponseEntity<>(suggestions, HttpStatus.OK);
+    }
+    
     /**
      * Get items by vendor.
      */
@@ -243,7 +337,8 @@ public class ItemController {
     @Operation(summary = "Get items by vendor with pagination", description = "Retrieves items from a vendor with pagination")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Items retrieved successfully",
-                    content = @Content(schema = @Schema(implementation = ItemPagingDTO.class)))
+                    content = @Content(schema = @Schema(implementation = ItemPagingDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid page number or page size")
     })
     public ResponseEntity<ItemPagingDTO> getItemsByVendorPaged(
             @Parameter(description = "Vendor ID") @PathVariable("vendorId") Integer vendorId,
@@ -290,7 +385,8 @@ public class ItemController {
     @Operation(summary = "Get available items with pagination", description = "Retrieves available items with pagination")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Items retrieved successfully",
-                    content = @Content(schema = @Schema(implementation = ItemPagingDTO.class)))
+                    content = @Content(schema = @Schema(implementation = ItemPagingDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid page number or page size")
     })
     public ResponseEntity<ItemPagingDTO> getAvailableItemsPaged(
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") Integer pageNo,
@@ -298,4 +394,18 @@ public class ItemController {
         ItemPagingDTO items = itemService.getAvailableItems(pageNo, pageSize);
         return new ResponseEntity<>(items, HttpStatus.OK);
     }
+    
+    /**
+     * Get catalog cache statistics.
+     */
+    @GetMapping("/cache/stats")
+    @Operation(summary = "Get catalog cache statistics", description = "Retrieves hit, miss and eviction counters of the catalog cache")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = CacheStatsDTO.class)))
+    })
+    public ResponseEntity<CacheStatsDTO> getCatalogCacheStats() {
+        CacheStatsDTO stats = itemService.getCatalogCacheStats();
+        return new ResponseEntity<>(stats, HttpStatus.OK);
+    }
 }
@@ -12,10 +12,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.groceteria.cache.IdempotencyStore;
 import com.groceteria.dto.OrderDTO;
 import com.groceteria.service.OrderService;
 
@@ -41,8 +43,12 @@ public class OrderController {
 	@Autowired
 	private OrderService orderService;
 	
+	@Autowired
+	private IdempotencyStore idempotencyStore;
+	
     /**
      * Create a new order.
+     * Retries carrying the same Idempotency-Key replay the original response.
      */
     @PostMapping
     @Operation(summary = "Create new order", description = "Creates a new order for the specified user")
@@ -50,13 +56,36 @@ public class OrderController {
         @ApiResponse(responseCode = "201", description = "Order created successfully",
                     content = @Content(schema = @Schema(implementation = OrderDTO.class))),
         @ApiResponse(responseCode = "400", description = "Invalid input data"),
-        @ApiResponse(responseCode = "404", description = "User not found")
+        @ApiResponse(responseCode = "404", description = "User not found"),
+        @ApiResponse(responseCode = "409", description = "A request with the same idempotency key is in progress")
     })
     public ResponseEntity<OrderDTO> createOrder(
             @Valid @RequestBody OrderDTO orderDTO,
-            @Parameter(description = "User ID") @RequestParam Integer userId) {
-        OrderDTO createdOrder = orderService.addOrder(orderDTO, userId);
-        return new ResponseEntity<>(createdOrder, HttpStatus.CREATED);
+            @Parameter(description = "User ID") @RequestParam Integer userId,
+            @Parameter(description = "Client-generated key that makes retries safe")
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute("POST /api/v1/orders", idempotencyKey, List.of(orderDTO, userId),
+            () -> new ResponseEntity<>(orderService.addOrder(orderDTO, userId), HttpStatus.CREATED));
+    }
+    
+    /**
+     * Checkout the user's cart.
+     * Retries carrying the same Idempotency-Key replay the original response.
+     */
+    @PostMapping("/checkout")
+    @Operation(summary = "Checkout cart", description = "Converts the user's cart into an order priced on the server and clears the cart")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Order created successfully",
+                    content = @Content(schema = @Schema(implementation = OrderDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Cart is empty"),
+        @ApiResponse(responseCode = "409", description = "Insufficient stock, or a request with the same idempotency key is in progress")
+    })
+    public ResponseEntity<OrderDTO> checkout(
+            @Parameter(description = "User ID") @RequestParam Integer userId,
+            @Parameter(description = "Client-generated key that makes retries safe")
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute("POST /api/v1/orders/checkout", idempotencyKey, List.of(userId),
+            () -> new ResponseEntity<>(orderService.checkout(userId), HttpStatus.CREATED));
     }
     
     /**
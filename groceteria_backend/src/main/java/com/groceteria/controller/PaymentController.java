@@ -1,5 +1,6 @@
 package com.groceteria.controller;
 
+import java.net.URI;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,10 +12,13 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.groceteria.cache.IdempotencyStore;
 import com.groceteria.dto.PaymentDTO;
 import com.groceteria.service.PaymentService;
 
@@ -35,30 +39,46 @@ import jakarta.validation.Valid;
 @CrossOrigin(origins = "*")
 @RestController
 @RequestMapping("/api/v1/payments")
-@Tag(name = "Payment Management", description = "APIs for payment processing and management (placeholder for future payment gateway)")
+@Tag(name = "Payment Management", description = "APIs for asynchronous payment processing and management")
 public class PaymentController {
     
     @Autowired
     private PaymentService paymentService;
     
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+    
     /**
-     * Add a new payment record.
-     * Note: This is a placeholder for future payment gateway integration.
+     * Add a new payment.
+     * The payment is recorded as PENDING and charged asynchronously; poll the returned
+     * Location until its status is PAID or FAILED. Retries carrying the same
+     * Idempotency-Key replay the original response.
      */
     @PostMapping
-    @Operation(summary = "Add payment record", description = "Creates a new payment record (placeholder for future payment gateway)")
+    @Operation(summary = "Add payment", description = "Records a PENDING payment and charges it asynchronously; poll the Location header for the outcome")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "201", description = "Payment record created successfully",
+        @ApiResponse(responseCode = "202", description = "Payment accepted for processing",
                     content = @Content(schema = @Schema(implementation = PaymentDTO.class))),
         @ApiResponse(responseCode = "400", description = "Invalid input data"),
-        @ApiResponse(responseCode = "404", description = "Order or user not found")
+        @ApiResponse(responseCode = "404", description = "Order or user not found"),
+        @ApiResponse(responseCode = "409", description = "Order already has a payment, or a request with the same idempotency key is in progress"),
+        @ApiResponse(responseCode = "503", description = "Payment processing is at capacity")
     })
     public ResponseEntity<PaymentDTO> addPayment(
             @Valid @RequestBody PaymentDTO paymentDTO,
             @Parameter(description = "Order ID") @RequestParam Long orderId,
-            @Parameter(description = "User ID") @RequestParam Integer userId) {
-        PaymentDTO createdPayment = paymentService.addPayment(paymentDTO, orderId, userId);
-        return new ResponseEntity<>(createdPayment, HttpStatus.CREATED);
+            @Parameter(description = "User ID") @RequestParam Integer userId,
+            @Parameter(description = "Client-generated key that makes retries safe")
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute("POST /api/v1/payments", idempotencyKey,
+            List.of(paymentDTO, orderId, userId), () -> {
+                PaymentDTO createdPayment = paymentService.addPayment(paymentDTO, orderId, userId);
+                URI statusUri = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                    .path("/{paymentId}")
+                    .buildAndExpand(createdPayment.getPaymentId())
+                    .toUri();
+                return ResponseEntity.accepted().location(statusUri).body(createdPayment);
+            });
     }
     
     /**
@@ -169,18 +189,26 @@ public class PaymentController {
     }
     
     /**
-     * Process payment (placeholder for future payment gateway).
-     * Currently does nothing - will be implemented with actual payment gateway.
+     * Retry a failed payment.
+     * The payment goes back to PENDING and is charged asynchronously, like a new payment;
+     * poll the returned Location until its status is PAID or FAILED.
      */
     @PostMapping("/process")
-    @Operation(summary = "Process payment", description = "Processes a payment (placeholder for future payment gateway)")
+    @Operation(summary = "Process payment", description = "Queues a FAILED payment to be charged again asynchronously; poll the Location header for the outcome")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Payment processed successfully"),
-        @ApiResponse(responseCode = "400", description = "Invalid payment data"),
-        @ApiResponse(responseCode = "500", description = "Payment processing failed")
+        @ApiResponse(responseCode = "202", description = "Payment accepted for processing",
+                    content = @Content(schema = @Schema(implementation = PaymentDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Payment ID missing"),
+        @ApiResponse(responseCode = "404", description = "Payment not found"),
+        @ApiResponse(responseCode = "409", description = "Payment is not FAILED, or another retry claimed it"),
+        @ApiResponse(responseCode = "503", description = "Payment processing is at capacity")
     })
-    public ResponseEntity<Boolean> processPayment(@Valid @RequestBody PaymentDTO paymentDTO) {
-        boolean success = paymentService.processPayment(paymentDTO);
-        return new ResponseEntity<>(success, HttpStatus.OK);
+    public ResponseEntity<PaymentDTO> processPayment(@Valid @RequestBody PaymentDTO paymentDTO) {
+        PaymentDTO queuedPayment = paymentService.processPayment(paymentDTO);
+        URI statusUri = ServletUriComponentsBuilder.fromCurrentContextPath()
+            .path("/api/v1/payments/{paymentId}")
+            .buildAndExpand(queuedPayment.getPaymentId())
+            .toUri();
+        return ResponseEntity.accepted().location(statusUri).body(queuedPayment);
     }
 }
@@ -0,0 +1,162 @@
+package com.groceteria.diagnostics;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.groceteria.dto.EndpointQueryStatsDTO;
+import com.groceteria.dto.QueryOffenderDTO;
+import com.groceteria.dto.QueryReportDTO;
+import com.groceteria.dto.RepeatedStatementDTO;
+
+/**
+ * Per-endpoint SQL statement statistics and N+1 detection.
+ * Every completed request adds its statement count and database time to its endpoint.
+ * A request that runs one statement text at least {@code repeat-threshold} times (the
+ * N+1 shape: the same prepared SQL with different binds) or runs at least
+ * {@code statement-threshold} statements in total is logged and kept in a bounded ring
+ * buffer of recent offenders.
+ */
+@Component
+public class QueryInspector {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryInspector.class);
+
+    static final String REPEATED_STATEMENT = "REPEATED_STATEMENT";
+    static final String TOO_MANY_STATEMENTS = "TOO_MANY_STATEMENTS";
+
+    private final boolean enabled;
+    private final int repeatThreshold;
+    private final int statementThreshold;
+    private final int bufferSize;
+
+    private final Map<String, EndpointTotals> endpoints = new ConcurrentHashMap<>();
+    private final Deque<QueryOffenderDTO> offenders = new ArrayDeque<>();
+
+    public QueryInspector(@Value("${groceteria.diagnostics.queries.enabled:false}") boolean enabled,
+            @Value("${groceteria.diagnostics.queries.repeat-threshold:5}") int repeatThreshold,
+            @Value("${groceteria.diagnostics.queries.statement-threshold:50}") int statementThreshold,
+            @Value("${groceteria.diagnostics.queries.buffer-size:100}") int bufferSize) {
+        this.enabled = enabled;
+        this.repeatThreshold = repeatThreshold;
+        this.statementThreshold = statementThreshold;
+        this.bufferSize = bufferSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Account for one completed request.
+     */
+    public void completed(String endpoint, String uri, RequestQueries queries) {
+        int statementCount = queries.getStatementCount();
+        EndpointTotals totals = endpoints.computeIfAbsent(endpoint, key -> new EndpointTotals());
+        totals.requests.increment();
+        totals.statements.add(statementCount);
+        totals.dbTimeNanos.add(queries.getDbTimeNanos());
+        totals.maxStatements.accumulateAndGet(statementCount, Math::max);
+
+        if (statementCount < repeatThreshold && statementCount < statementThreshold) {
+            return;
+        }
+        List<RepeatedStatementDTO> repeated = new ArrayList<>();
+        queries.getExecutions().forEach((sql, executions) -> {
+            if (executions >= repeatThreshold) {
+                repeated.add(RepeatedStatementDTO.builder().sql(sql).executions(executions).build());
+            }
+        });
+        List<String> reasons = new ArrayList<>();
+        if (!repeated.isEmpty()) {
+            reasons.add(REPEATED_STATEMENT);
+        }
+        if (statementCount >= statementThreshold) {
+            reasons.add(TOO_MANY_STATEMENTS);
+        }
+        if (reasons.isEmpty()) {
+            return;
+        }
+        repeated.sort(Comparator.comparingInt(RepeatedStatementDTO::getExecutions).reversed());
+        totals.flagged.increment();
+
+        QueryOffenderDTO offender = QueryOffenderDTO.builder()
+            .endpoint(endpoint)
+            .uri(uri)
+            .completedAt(LocalDateTime.now())
+            .statementCount(statementCount)
+            .dbTimeMillis(queries.getDbTimeNanos() / 1_000_000.0)
+            .reasons(reasons)
+            .repeatedStatements(repeated)
+            .build();
+        synchronized (offenders) {
+            offenders.addFirst(offender);
+            while (offenders.size() > bufferSize) {
+                offenders.removeLast();
+            }
+        }
+        log.warn("{} ran {} statements {}{}", endpoint, statementCount, reasons,
+            repeated.isEmpty() ? "" : ", most repeated " + repeated.get(0).getExecutions() + "x: " + repeated.get(0).getSql());
+    }
+
+    public QueryReportDTO getReport() {
+        List<EndpointQueryStatsDTO> stats = new ArrayList<>();
+        endpoints.forEach((endpoint, totals) -> {
+            long requests = totals.requests.sum();
+            long statements = totals.statements.sum();
+            double dbTimeMillis = totals.dbTimeNanos.sum() / 1_000_000.0;
+            stats.add(EndpointQueryStatsDTO.builder()
+                .endpoint(endpoint)
+                .requests(requests)
+                .statements(statements)
+                .avgStatements(requests == 0 ? 0.0 : (double) statements / requests)
+                .maxStatements(totals.maxStatements.get())
+                .dbTimeMillis(dbTimeMillis)
+                .avgDbTimeMillis(requests == 0 ? 0.0 : dbTimeMillis / requests)
+                .flaggedRequests(totals.flagged.sum())
+                .build());
+        });
+        stats.sort(Comparator.comparingDouble(EndpointQueryStatsDTO::getAvgStatements).reversed());
+
+        List<QueryOffenderDTO> recent;
+        synchronized (offenders) {
+            recent = new ArrayList<>(offenders);
+        }
+        return QueryReportDTO.builder()
+            .repeatThreshold(repeatThreshold)
+            .statementThreshold(statementThreshold)
+            .endpoints(stats)
+            .offenders(recent)
+            .build();
+    }
+
+    /**
+     * Clear endpoint statistics and the offender buffer.
+     */
+    public void reset() {
+        endpoints.clear();
+        synchronized (offenders) {
+            offenders.clear();
+        }
+    }
+
+    private static final class EndpointTotals {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder dbTimeNanos = new LongAdder();
+        private final LongAdder flagged = new LongAdder();
+        private final AtomicLong maxStatements = new AtomicLong();
+    }
+}
@@ -0,0 +1,46 @@
+package com.groceteria.diagnostics;
+
+import java.io.IOException;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Opens a {@link RequestQueries} scope around each HTTP request and hands the result to
+ * the {@link QueryInspector}, keyed by HTTP method and matched route pattern.
+ */
+@Component
+public class QueryInspectorFilter extends OncePerRequestFilter {
+
+    private final QueryInspector inspector;
+
+    public QueryInspectorFilter(QueryInspector inspector) {
+        this.inspector = inspector;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !inspector.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestQueries queries = RequestQueries.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestQueries.end();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            // Unmatched requests share one key so arbitrary URLs cannot grow the stats map
+            String endpoint = request.getMethod() + " " + (pattern != null ? pattern : "UNMATCHED");
+            inspector.completed(endpoint, request.getRequestURI(), queries);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.groceteria.diagnostics;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.groceteria.dto.QueryReportDTO;
+
+/**
+ * Actuator endpoint for the query inspector's report, at {@code /actuator/queries}.
+ * The report holds SQL text and the reset discards the collected statistics, so the
+ * endpoint exists only while the inspector is enabled and is served only when
+ * {@code queries} is added to {@code management.endpoints.web.exposure.include}.
+ */
+@Component
+@Endpoint(id = "queries")
+@ConditionalOnProperty(name = "groceteria.diagnostics.queries.enabled", havingValue = "true")
+public class QueryReportEndpoint {
+
+    private final QueryInspector queryInspector;
+
+    public QueryReportEndpoint(QueryInspector queryInspector) {
+        this.queryInspector = queryInspector;
+    }
+
+    /**
+     * Per-endpoint statement statistics and recently flagged requests.
+     */
+    @ReadOperation
+    public QueryReportDTO report() {
+        return queryInspector.getReport();
+    }
+
+    /**
+     * Reset statement statistics and flagged requests.
+     */
+    @DeleteOperation
+    public void reset() {
+        queryInspector.reset();
+    }
+}
@@ -0,0 +1,58 @@
+package com.groceteria.diagnostics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL statements issued by the request bound to the current thread.
+ * {@link QueryInspectorFilter} opens and closes the scope; the JDBC wrapper reports each
+ * executed statement through {@link #record(String, long)}, which is a no-op outside a scope.
+ */
+public final class RequestQueries {
+
+    private static final ThreadLocal<RequestQueries> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> executions = new HashMap<>();
+    private int statementCount;
+    private long dbTimeNanos;
+
+    private RequestQueries() {
+    }
+
+    /**
+     * Start collecting statements for the current thread.
+     */
+    public static RequestQueries begin() {
+        RequestQueries queries = new RequestQueries();
+        CURRENT.set(queries);
+        return queries;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Count one executed statement against the current request, if there is one.
+     */
+    public static void record(String sql, long elapsedNanos) {
+        RequestQueries queries = CURRENT.get();
+        if (queries != null && sql != null) {
+            queries.executions.merge(sql, 1, Integer::sum);
+            queries.statementCount++;
+            queries.dbTimeNanos += elapsedNanos;
+        }
+    }
+
+    Map<String, Integer> getExecutions() {
+        return executions;
+    }
+
+    int getStatementCount() {
+        return statementCount;
+    }
+
+    long getDbTimeNanos() {
+        return dbTimeNanos;
+    }
+}
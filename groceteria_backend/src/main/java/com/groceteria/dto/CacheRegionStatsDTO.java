@@ -0,0 +1,32 @@
+package com.groceteria.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the statistics of one Hibernate second-level cache region.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO for Hibernate second-level cache region statistics")
+public class CacheRegionStatsDTO {
+    @Schema(description = "Region name", example = "com.groceteria.entity.Item")
+    private String region;
+
+    @Schema(description = "Number of lookups served from the region", example = "1200")
+    private long hits;
+
+    @Schema(description = "Number of lookups that had to go to the database", example = "80")
+    private long misses;
+
+    @Schema(description = "Number of entries put into the region", example = "80")
+    private long puts;
+
+    @Schema(description = "Hits divided by total lookups", example = "0.93")
+    private double hitRatio;
+}
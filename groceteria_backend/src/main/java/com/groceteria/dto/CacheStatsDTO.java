@@ -0,0 +1,44 @@
+package com.groceteria.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for in-process cache statistics.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO for in-process cache statistics")
+public class CacheStatsDTO {
+    @Schema(description = "Cache name", example = "catalog")
+    private String name;
+
+    @Schema(description = "Number of entries currently cached", example = "42")
+    private long size;
+
+    @Schema(description = "Maximum number of entries", example = "1000")
+    private long maxEntries;
+
+    @Schema(description = "Time-to-live of an entry in seconds", example = "300")
+    private long ttlSeconds;
+
+    @Schema(description = "Number of lookups served from the cache", example = "1200")
+    private long hits;
+
+    @Schema(description = "Number of lookups that had to load from the database", example = "80")
+    private long misses;
+
+    @Schema(description = "Number of entries evicted for size or expiry", example = "5")
+    private long evictions;
+
+    @Schema(description = "Number of entries removed because an item changed", example = "12")
+    private long invalidations;
+
+    @Schema(description = "Hits divided by total lookups", example = "0.93")
+    private double hitRatio;
+}
@@ -0,0 +1,41 @@
+package com.groceteria.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one operation of a bulk cart update.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO for one operation of a bulk cart update")
+public class CartLineOperationDTO {
+
+    public enum Action {
+        /** Add the quantity to the item's cart line, creating it if needed */
+        ADD,
+        /** Set the item's cart line to the quantity, creating it if needed */
+        SET,
+        /** Remove the item's cart line */
+        REMOVE
+    }
+
+    @NotNull(message = "Item ID is required")
+    @Schema(description = "Item ID", example = "501")
+    private Long itemId;
+
+    @NotNull(message = "Action is required")
+    @Schema(description = "Operation to apply to the item's cart line", example = "ADD")
+    private Action action;
+
+    @Min(value = 1, message = "Quantity must be at least 1")
+    @Schema(description = "Quantity to add or set; not used by REMOVE", example = "2")
+    private Long quantity;
+}
@@ -0,0 +1,37 @@
+package com.groceteria.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a user's cart with item details and totals computed on the server.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO for a user's cart with item details and totals")
+public class CartSummaryDTO {
+    @Schema(description = "User ID", example = "1001")
+    private Integer userId;
+
+    @Schema(description = "Cart lines in the order they were added")
+    private List<CartSummaryLineDTO> lines;
+
+    @Schema(description = "Number of cart lines", example = "3")
+    private int lineCount;
+
+    @Schema(description = "Sum of all line quantities", example = "7")
+    private long totalQuantity;
+
+    @Schema(description = "Sum of all line totals at current prices", example = "254.5")
+    private double grandTotal;
+
+    @Schema(description = "Whether any line's price changed since it was added", example = "false")
+    private boolean priceChanged;
+}
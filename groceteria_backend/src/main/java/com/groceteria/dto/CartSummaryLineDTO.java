@@ -0,0 +1,58 @@
+package com.groceteria.dto;
+
+import java.util.Objects;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one line of a cart summary, with the item details needed to render it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO for one line of a cart summary")
+public class CartSummaryLineDTO {
+    @Schema(description = "Cart ID", example = "5551")
+    private Long cartId;
+
+    @Schema(description = "Item ID", example = "501")
+    private Long itemId;
+
+    @Schema(description = "Item name", example = "Fresh Apples")
+    private String itemName;
+
+    @Schema(description = "Item image URL", example = "https://example.com/apple.jpg")
+    private String image;
+
+    @Schema(description = "Quantity of the item in the cart", example = "2")
+    private Long quantity;
+
+    @Schema(description = "Item price when it was added to the cart", example = "30.0")
+    private Double cartPrice;
+
+    @Schema(description = "Current item price, used for totals and at checkout", example = "32.0")
+    private Double currentPrice;
+
+    @Schema(description = "Quantity of the item in stock", example = "100")
+    private Long availableQuantity;
+
+    @Schema(description = "Current price times quantity", example = "64.0")
+    private Double lineTotal;
+
+    @Schema(description = "Whether the item price changed since it was added to the cart", example = "true")
+    private boolean priceChanged;
+
+    /**
+     * Projection constructor used by {@code CartRepository.findSummaryLinesByUserId}.
+     */
+    public CartSummaryLineDTO(Long cartId, Long itemId, String itemName, String image, Long quantity,
+            Double cartPrice, Double currentPrice, Long availableQuantity) {
+        this(cartId, itemId, itemName, image, quantity, cartPrice, currentPrice, availableQuantity,
+            currentPrice * quantity, !Objects.equals(cartPrice, currentPrice));
+    }
+}
@@ -0,0 +1,41 @@
+package com.groceteria.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the statement counts and database time of one endpoint.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO for per-endpoint SQL statement statistics")
+public class EndpointQueryStatsDTO {
+    @Schema(description = "HTTP method and route pattern", example = "GET /api/v1/items/paged")
+    private String endpoint;
+
+    @Schema(description = "Number of requests observed", example = "500")
+    private long requests;
+
+    @Schema(description = "Statements executed across all requests", example = "1000")
+    private long statements;
+
+    @Schema(description = "Average statements per request", example = "2.0")
+    private double avgStatements;
+
+    @Schema(description = "Most statements executed by a single request", example = "2")
+    private long maxStatements;
+
+    @Schema(description = "Total time spent executing statements in milliseconds", example = "850.5")
+    private double dbTimeMillis;
+
+    @Schema(description = "Average statement time per request in milliseconds", example = "1.7")
+    private double avgDbTimeMillis;
+
+    @Schema(description = "Number of requests flagged as offenders", example = "0")
+    private long flaggedRequests;
+}
@@ -0,0 +1,30 @@
+package com.groceteria.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for cursor (keyset) paginated item results.
+ * Unlike {@link ItemPagingDTO} it carries no total count; clients keep paging
+ * with {@code nextCursor} until {@code hasMore} is false.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO for cursor paginated item results")
+public class ItemCursorPagingDTO {
+    @Schema(description = "List of items on the current page")
+    private List<ItemDTO> items;
+
+    @Schema(description = "Opaque token to pass as cursor for the next page, null on the last page", example = "djE6NTEw")
+    private String nextCursor;
+
+    @Schema(description = "Whether more items follow this page", example = "true")
+    private boolean hasMore;
+}
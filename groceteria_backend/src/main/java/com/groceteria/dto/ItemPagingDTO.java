@@ -21,6 +21,9 @@ public class ItemPagingDTO {
     @Schema(description = "List of items on the current page")
     private List<ItemDTO> items;
 
-    @Schema(description = "Total number of items available", example = "100")
+    @Schema(description = "Total number of items available, or -1 when counting was skipped", example = "100")
     private long totalItems;
+
+    @Schema(description = "Whether another page follows this one", example = "true")
+    private boolean hasNext;
 } 
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.groceteria.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a type-ahead item suggestion.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO for a type-ahead item suggestion")
+public class ItemSuggestionDTO {
+    @Schema(description = "Item ID", example = "501")
+    private Long itemId;
+
+    @Schema(description = "Name of the item", example = "Tomato")
+    private String itemName;
+
+    @Schema(description = "Ranking weight (stock quantity)", example = "100")
+    private long weight;
+}
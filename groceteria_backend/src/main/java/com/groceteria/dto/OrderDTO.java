@@ -38,4 +38,12 @@ public class OrderDTO {
 
     @Schema(description = "List of item IDs in the order")
     private List<Long> itemIds;
+
+    /**
+     * Constructor for JPQL projections, which cannot select the item ID list.
+     */
+    public OrderDTO(Long orderId, Double totalPrice, String orderStatus, String paymentStatus,
+            Date orderDate, Integer userId) {
+        this(orderId, totalPrice, orderStatus, paymentStatus, orderDate, userId, null);
+    }
 } 
\ No newline at end of file
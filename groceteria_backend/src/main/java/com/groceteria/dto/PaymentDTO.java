@@ -34,4 +34,7 @@ public class PaymentDTO {
 
     @Schema(description = "User ID", example = "1001")
     private Integer userId;
+
+    @Schema(description = "Processing status (PENDING, PAID, FAILED)", example = "PENDING", accessMode = Schema.AccessMode.READ_ONLY)
+    private String status;
 } 
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.groceteria.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a request flagged by the query inspector.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO for a request that issued too many or repeated statements")
+public class QueryOffenderDTO {
+    @Schema(description = "HTTP method and route pattern", example = "GET /api/v1/items/paged")
+    private String endpoint;
+
+    @Schema(description = "Request URI", example = "/api/v1/items/paged")
+    private String uri;
+
+    @Schema(description = "When the request completed")
+    private LocalDateTime completedAt;
+
+    @Schema(description = "Number of statements executed", example = "21")
+    private int statementCount;
+
+    @Schema(description = "Total time spent executing statements in milliseconds", example = "14.2")
+    private double dbTimeMillis;
+
+    @Schema(description = "Why the request was flagged", example = "[\"REPEATED_STATEMENT\"]")
+    private List<String> reasons;
+
+    @Schema(description = "Statements executed at least the repeat threshold number of times, most frequent first")
+    private List<RepeatedStatementDTO> repeatedStatements;
+}
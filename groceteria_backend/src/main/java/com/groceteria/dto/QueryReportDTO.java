@@ -0,0 +1,31 @@
+package com.groceteria.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the query inspector report.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO for per-endpoint statement statistics and recently flagged requests")
+public class QueryReportDTO {
+    @Schema(description = "A request is flagged when one statement runs at least this many times", example = "5")
+    private int repeatThreshold;
+
+    @Schema(description = "A request is flagged when it runs at least this many statements", example = "50")
+    private int statementThreshold;
+
+    @Schema(description = "Statistics per endpoint, most statements per request first")
+    private List<EndpointQueryStatsDTO> endpoints;
+
+    @Schema(description = "Most recently flagged requests, newest first")
+    private List<QueryOffenderDTO> offenders;
+}
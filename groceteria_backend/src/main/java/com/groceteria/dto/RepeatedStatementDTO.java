@@ -0,0 +1,23 @@
+package com.groceteria.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one SQL statement executed repeatedly within a single request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO for a statement repeated within one request")
+public class RepeatedStatementDTO {
+    @Schema(description = "SQL text as sent to the driver", example = "select u1_0.user_id,... from users u1_0 where u1_0.user_id=?")
+    private String sql;
+
+    @Schema(description = "Number of times the statement ran in the request", example = "20")
+    private int executions;
+}
@@ -0,0 +1,28 @@
+package com.groceteria.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one line of a stock reservation or release.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO for one line of a stock reservation or release")
+public class StockLineDTO {
+    @NotNull(message = "Item ID is required")
+    @Schema(description = "Item ID", example = "501")
+    private Long itemId;
+
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    @Schema(description = "Quantity to reserve or release", example = "2")
+    private Long quantity;
+}
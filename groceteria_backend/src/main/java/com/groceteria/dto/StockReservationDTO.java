@@ -0,0 +1,25 @@
+package com.groceteria.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the outcome of a stock reservation.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO for the outcome of a stock reservation")
+public class StockReservationDTO {
+    @Schema(description = "Whether every line was reserved", example = "false")
+    private boolean reserved;
+
+    @Schema(description = "Item IDs that could not be reserved (missing or insufficient stock)")
+    private List<Long> failedItemIds;
+}
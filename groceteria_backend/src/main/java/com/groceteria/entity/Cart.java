@@ -1,5 +1,7 @@
 package com.groceteria.entity;
 
+import java.util.Date;
+
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
@@ -12,20 +14,21 @@ import lombok.NoArgsConstructor;
 /**
  * Cart entity representing a shopping cart in the Groceteria system.
  * Aligned with the simplified, production-ready style and supporting USER and VENDOR roles.
+ * A user has at most one cart line per item.
  */
 @Entity
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "carts")
+@Table(name = "carts", uniqueConstraints = @UniqueConstraint(name = "uk_carts_user_item", columnNames = { "user_id", "item_id" }))
 @Schema(description = "Cart entity representing a shopping cart in the Groceteria system")
 public class Cart {
     /**
      * Unique identifier for the cart.
      */
     @Id
-    @SequenceGenerator(name = "cart_id_generator", sequenceName = "cart_id_seq", initialValue = 5550, allocationSize = 1)
+    @SequenceGenerator(name = "cart_id_generator", sequenceName = "cart_id_seq", initialValue = 5550, allocationSize = 50)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cart_id_generator")
     @Column(name = "cart_id", nullable = false, updatable = false)
     @Schema(description = "Unique identifier for the cart", example = "5551", accessMode = Schema.AccessMode.READ_ONLY)
@@ -62,4 +65,18 @@ public class Cart {
     @JoinColumn(name = "user_id", nullable = false)
     @Schema(description = "User who owns the cart", hidden = true)
     private User user;
+
+    /**
+     * Timestamp when the cart line was last added to or changed.
+     * Lines untouched for longer than the retention period are removed by the abandoned-cart sweeper.
+     */
+    @Column(name = "last_touched")
+    @Schema(description = "Timestamp when the cart line was last added to or changed", accessMode = Schema.AccessMode.READ_ONLY)
+    private Date lastTouched;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        lastTouched = new Date();
+    }
 }
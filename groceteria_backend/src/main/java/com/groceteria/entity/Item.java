@@ -9,24 +9,31 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Item entity representing a product in the Groceteria system.
  * Aligned with the simplified, production-ready style and supporting USER and VENDOR roles.
+ * Held in the second-level cache, which stock updates made outside Hibernate must evict.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "items")
+@Table(name = "items", indexes = {
+    @Index(name = "idx_items_category_item_id", columnList = "category, item_id")
+})
 @Schema(description = "Item entity representing a product in the Groceteria system")
 public class Item {
     /**
      * Unique identifier for the item.
      */
     @Id
-    @SequenceGenerator(name = "item_id_generator", sequenceName = "item_id_seq", initialValue = 500, allocationSize = 1)
+    @SequenceGenerator(name = "item_id_generator", sequenceName = "item_id_seq", initialValue = 500, allocationSize = 50)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_id_generator")
     @Column(name = "item_id", nullable = false, updatable = false)
     @Schema(description = "Unique identifier for the item", example = "501", accessMode = Schema.AccessMode.READ_ONLY)
@@ -29,7 +29,7 @@ public class Order {
      * Unique identifier for the order.
      */
     @Id
-    @SequenceGenerator(name = "order_id_generator", sequenceName = "order_id_seq", initialValue = 300, allocationSize = 1)
+    @SequenceGenerator(name = "order_id_generator", sequenceName = "order_id_seq", initialValue = 300, allocationSize = 50)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_id_generator")
     @Column(name = "order_id", nullable = false, updatable = false)
     @Schema(description = "Unique identifier for the order", example = "301", accessMode = Schema.AccessMode.READ_ONLY)
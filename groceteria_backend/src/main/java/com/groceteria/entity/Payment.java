@@ -29,11 +29,15 @@ import lombok.NoArgsConstructor;
 @Schema(description = "Payment entity representing a payment record in the Groceteria system")
 public class Payment {
 
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_PAID = "PAID";
+    public static final String STATUS_FAILED = "FAILED";
+
     /**
      * Unique identifier for the payment.
      */
     @Id
-    @SequenceGenerator(name = "payment_id_generator", sequenceName = "payment_id_seq", initialValue = 100, allocationSize = 1)
+    @SequenceGenerator(name = "payment_id_generator", sequenceName = "payment_id_seq", initialValue = 100, allocationSize = 50)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_id_generator")
     @Column(name = "payment_id", nullable = false, updatable = false)
     @Schema(description = "Unique identifier for the payment", example = "101", accessMode = Schema.AccessMode.READ_ONLY)
@@ -71,6 +75,13 @@ public class Payment {
     @Schema(description = "Amount paid by the user", example = "250.75", required = true)
     private Double paidAmount;
 
+    /**
+     * Processing status of the payment (PENDING, PAID, FAILED).
+     */
+    @Column(name = "status", length = 20)
+    @Schema(description = "Processing status of the payment", example = "PENDING", accessMode = Schema.AccessMode.READ_ONLY)
+    private String status;
+
     /**
      * User who made the payment.
      */
@@ -3,6 +3,7 @@ package com.groceteria.entity;
 import java.util.Date;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -18,17 +19,21 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * User entity representing a user in the Groceteria system.
  * This entity stores user information including personal details, contact information,
- * and authentication credentials.
+ * and authentication credentials. Held in the second-level cache.
  * 
  * @author Groceteria Team
  * @version 1.0
  * @since 2024
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @Builder
 @NoArgsConstructor
@@ -39,10 +44,10 @@ public class User {
     
     /**
      * Unique identifier for the user.
-     * Auto-generated using sequence generator starting from 1000.
+     * Auto-generated using a pooled sequence generator starting from 1000.
      */
     @Id
-    @SequenceGenerator(name = "user_id_generator", sequenceName = "user_id_seq", initialValue = 1000, allocationSize = 1)
+    @SequenceGenerator(name = "user_id_generator", sequenceName = "user_id_seq", initialValue = 1000, allocationSize = 50)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_id_generator")
     @Column(name = "user_id", nullable = false, updatable = false)
     @Schema(description = "Unique identifier for the user", example = "1001", accessMode = Schema.AccessMode.READ_ONLY)
@@ -0,0 +1,60 @@
+package com.groceteria.event;
+
+import com.groceteria.dto.ItemDTO;
+
+import lombok.Getter;
+
+/**
+ * Event published by the item service whenever an item is added, updated or deleted.
+ * Carries the item state before and after the change so listeners can work out
+ * exactly which derived views (caches, indexes, counters) are affected.
+ */
+@Getter
+public class ItemChangedEvent {
+
+    /**
+     * Kind of change applied to the item.
+     */
+    public enum Type {
+        ADDED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+
+    /**
+     * Item state before the change, {@code null} for {@link Type#ADDED}.
+     */
+    private final ItemDTO before;
+
+    /**
+     * Item state after the change, {@code null} for {@link Type#DELETED}.
+     */
+    private final ItemDTO after;
+
+    public ItemChangedEvent(Type type, ItemDTO before, ItemDTO after) {
+        this.type = type;
+        this.before = before;
+        this.after = after;
+    }
+
+    public static ItemChangedEvent added(ItemDTO after) {
+        return new ItemChangedEvent(Type.ADDED, null, after);
+    }
+
+    public static ItemChangedEvent updated(ItemDTO before, ItemDTO after) {
+        return new ItemChangedEvent(Type.UPDATED, before, after);
+    }
+
+    public static ItemChangedEvent deleted(ItemDTO before) {
+        return new ItemChangedEvent(Type.DELETED, before, null);
+    }
+
+    /**
+     * Item ID affected by this change.
+     */
+    public Long getItemId() {
+        return after != null ? after.getItemId() : before.getItemId();
+    }
+}
@@ -164,6 +164,22 @@ public class CustomizedResponseEntityExceptionHandler extends ResponseEntityExce
         return new ResponseEntity<>(apiError, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    /**
+     * Handle ServiceUnavailableException.
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Object> handleServiceUnavailableException(ServiceUnavailableException ex, WebRequest request) {
+        ApiError apiError = ApiError.builder()
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .message("Service temporarily unavailable")
+                .errors(List.of(ex.getMessage()))
+                .path(getRequestPath(request))
+                .errorCode("SERVICE_UNAVAILABLE")
+                .build();
+        
+        return new ResponseEntity<>(apiError, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     /**
      * Handle ConstraintViolationException.
      */
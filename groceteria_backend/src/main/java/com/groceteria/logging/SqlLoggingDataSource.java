@@ -0,0 +1,171 @@
+package com.groceteria.logging;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.groceteria.diagnostics.RequestQueries;
+
+/**
+ * DataSource wrapper that times every JDBC statement without formatting each one.
+ * Statements at or above the slow threshold are written with their bind values to the
+ * {@code com.groceteria.sql.slow} logger at WARN; a random sample of the remaining
+ * statements is written without binds to {@code com.groceteria.sql} at DEBUG.
+ * Bind values are only captured while the slow log is enabled. Every execution is also
+ * reported to the {@link RequestQueries} of the current HTTP request, if any.
+ */
+public class SqlLoggingDataSource extends DelegatingDataSource {
+
+    static final Logger SQL_LOG = LoggerFactory.getLogger("com.groceteria.sql");
+    static final Logger SLOW_LOG = LoggerFactory.getLogger("com.groceteria.sql.slow");
+
+    private static final int MAX_BIND_LENGTH = 100;
+
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    public SqlLoggingDataSource(DataSource target, double sampleRate, long slowThresholdMillis) {
+        super(target);
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+            (proxy, method, args) -> {
+                Object result = invoke(connection, method, args);
+                switch (method.getName()) {
+                    case "prepareStatement":
+                        return wrap((Statement) result, (String) args[0], PreparedStatement.class);
+                    case "prepareCall":
+                        return wrap((Statement) result, (String) args[0], CallableStatement.class);
+                    case "createStatement":
+                        return wrap((Statement) result, null, Statement.class);
+                    default:
+                        return result;
+                }
+            });
+    }
+
+    private Object wrap(Statement statement, String sql, Class<? extends Statement> type) {
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { type },
+            new StatementHandler(statement, sql));
+    }
+
+    /**
+     * Record the outcome of one statement execution.
+     */
+    void record(String sql, Object[] binds, int bindCount, int batchSize, long elapsedNanos) {
+        RequestQueries.record(sql, elapsedNanos);
+        if (slowThresholdNanos > 0 && elapsedNanos >= slowThresholdNanos) {
+            if (SLOW_LOG.isWarnEnabled()) {
+                SLOW_LOG.warn("{} ms{}: {} binds {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    batchSize > 0 ? " (batch of " + batchSize + ")" : "", sql, formatBinds(binds, bindCount));
+            }
+            return;
+        }
+        if (sampleRate > 0 && SQL_LOG.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            SQL_LOG.debug("{} us: {}", TimeUnit.NANOSECONDS.toMicros(elapsedNanos), sql);
+        }
+    }
+
+    static String formatBinds(Object[] binds, int bindCount) {
+        StringBuilder text = new StringBuilder("[");
+        for (int i = 1; binds != null && i <= bindCount; i++) {
+            if (text.length() > 1) {
+                text.append(", ");
+            }
+            String value = String.valueOf(binds[i]);
+            if (value.length() > MAX_BIND_LENGTH) {
+                value = value.substring(0, MAX_BIND_LENGTH) + "...";
+            }
+            text.append(i).append('=').append(value);
+        }
+        return text.append(']').toString();
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final String sql;
+        // Index 0 unused so JDBC parameter indexes map directly
+        private Object[] binds;
+        private int bindCount;
+        private int batchSize;
+
+        private StatementHandler(Statement statement, String sql) {
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                String executed = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+                int executedBatch = name.equals("executeBatch") ? batchSize : 0;
+                long start = System.nanoTime();
+                try {
+                    return SqlLoggingDataSource.invoke(statement, method, args);
+                } finally {
+                    record(executed, binds, bindCount, executedBatch, System.nanoTime() - start);
+                    if (executedBatch > 0) {
+                        batchSize = 0;
+                    }
+                }
+            }
+            if (slowThresholdNanos > 0 && name.startsWith("set") && args != null && args.length >= 2
+                    && args[0] instanceof Integer index) {
+                bind(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                binds = null;
+                bindCount = 0;
+            } else if (name.equals("addBatch")) {
+                batchSize++;
+            }
+            return SqlLoggingDataSource.invoke(statement, method, args);
+        }
+
+        private void bind(int index, Object value) {
+            if (binds == null) {
+                binds = new Object[Math.max(index + 1, 8)];
+            } else if (index >= binds.length) {
+                binds = Arrays.copyOf(binds, Math.max(index + 1, binds.length * 2));
+            }
+            binds[index] = value;
+            bindCount = Math.max(bindCount, index);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.groceteria.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every call made through a {@code com.groceteria.service.*Service} interface.
+ * Each call is recorded on the {@value #METRIC_NAME} timer, tagged with the service,
+ * the method, the outcome (success or error) and the exception class. Repository calls
+ * are timed by Spring Data's own {@code spring.data.repository.invocations} metric;
+ * percentile histograms for both are switched on in application.yml.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    public static final String METRIC_NAME = "groceteria.service";
+
+    private final MeterRegistry registry;
+
+    public ServiceMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * com.groceteria.service.*Service.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "success";
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable t) {
+            outcome = "error";
+            exception = t.getClass().getSimpleName();
+            throw t;
+        } finally {
+            sample.stop(Timer.builder(METRIC_NAME)
+                .description("Service method execution time")
+                .tag("service", serviceName(joinPoint))
+                .tag("method", joinPoint.getSignature().getName())
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .register(registry));
+        }
+    }
+
+    // Name of the service interface rather than the implementation or proxy class
+    private static String serviceName(ProceedingJoinPoint joinPoint) {
+        Class<?> type = joinPoint.getSignature().getDeclaringType();
+        if (!type.isInterface()) {
+            for (Class<?> candidate : type.getInterfaces()) {
+                if (candidate.getName().startsWith("com.groceteria.service.")) {
+                    return candidate.getSimpleName();
+                }
+            }
+        }
+        return type.getSimpleName();
+    }
+}
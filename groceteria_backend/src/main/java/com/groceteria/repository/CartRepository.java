@@ -1,13 +1,18 @@
 package com.groceteria.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.groceteria.dto.CartDTO;
+import com.groceteria.dto.CartSummaryLineDTO;
 import com.groceteria.entity.Cart;
 import com.groceteria.entity.Item;
 import com.groceteria.entity.User;
@@ -30,6 +35,12 @@ public interface CartRepository extends JpaRepository<Cart, Long> {
     @Query("SELECT c FROM Cart c WHERE c.user.userId = :userId")
     List<Cart> findByUserId(@Param("userId") Integer userId);
     
+    /**
+     * Find cart items by user ID with their items fetched in the same query.
+     */
+    @Query("SELECT c FROM Cart c JOIN FETCH c.item WHERE c.user.userId = :userId")
+    List<Cart> findByUserIdWithItem(@Param("userId") Integer userId);
+    
     /**
      * Find cart item by user and item.
      */
@@ -41,16 +52,36 @@ public interface CartRepository extends JpaRepository<Cart, Long> {
     @Query("SELECT c FROM Cart c WHERE c.user.userId = :userId AND c.item.itemId = :itemId")
     Optional<Cart> findByUserIdAndItemId(@Param("userId") Integer userId, @Param("itemId") Long itemId);
     
+    /**
+     * Find a user's cart items for several items in a single query.
+     */
+    @Query("SELECT c FROM Cart c WHERE c.user.userId = :userId AND c.item.itemId IN :itemIds")
+    List<Cart> findByUserIdAndItemIdIn(@Param("userId") Integer userId, @Param("itemIds") Collection<Long> itemIds);
+    
     /**
      * Delete cart items by user.
      */
     void deleteByUser(User user);
     
     /**
-     * Delete cart items by user ID.
+     * Delete cart items by user ID in a single bulk statement.
      */
+    @Modifying
+    @Transactional
     @Query("DELETE FROM Cart c WHERE c.user.userId = :userId")
-    void deleteByUserId(@Param("userId") Integer userId);
+    int deleteByUserId(@Param("userId") Integer userId);
+    
+    /**
+     * Find all cart items as DTOs, reading the item and user foreign keys directly.
+     */
+    @Query("SELECT new com.groceteria.dto.CartDTO(c.cartId, c.quantity, c.mrpPrice, c.item.itemId, c.user.userId) FROM Cart c")
+    List<CartDTO> findAllAsDTO();
+    
+    /**
+     * Find cart items by user ID as DTOs, reading the foreign keys directly.
+     */
+    @Query("SELECT new com.groceteria.dto.CartDTO(c.cartId, c.quantity, c.mrpPrice, c.item.itemId, c.user.userId) FROM Cart c WHERE c.user.userId = :userId")
+    List<CartDTO> findByUserIdAsDTO(@Param("userId") Integer userId);
     
     /**
      * Count cart items by user.
@@ -62,4 +93,11 @@ public interface CartRepository extends JpaRepository<Cart, Long> {
      */
     @Query("SELECT COUNT(c) FROM Cart c WHERE c.user.userId = :userId")
     long countByUserId(@Param("userId") Integer userId);
+    
+    /**
+     * Find a user's cart lines joined with their items' name, image, current price and stock.
+     */
+    @Query("SELECT new com.groceteria.dto.CartSummaryLineDTO(c.cartId, i.itemId, i.itemName, i.image, c.quantity, "
+        + "c.mrpPrice, i.mrpPrice, i.quantity) FROM Cart c JOIN c.item i WHERE c.user.userId = :userId ORDER BY c.cartId")
+    List<CartSummaryLineDTO> findSummaryLinesByUserId(@Param("userId") Integer userId);
 }
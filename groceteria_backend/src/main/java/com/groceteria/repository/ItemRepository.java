@@ -1,19 +1,27 @@
 package com.groceteria.repository;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.groceteria.dto.ItemDTO;
 import com.groceteria.entity.Category;
 import com.groceteria.entity.Item;
 import com.groceteria.entity.User;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository interface for Item entity operations.
  * Provides methods for item management with support for vendor relationships.
@@ -21,9 +29,19 @@ import com.groceteria.entity.User;
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long>, PagingAndSortingRepository<Item, Long> {
     
+    /**
+     * Second-level cache region for whole-category queries. Hibernate invalidates it on
+     * item writes it performs; writes made with plain JDBC must evict it themselves.
+     */
+    String CATEGORY_QUERY_REGION = "item-category-queries";
+    
     /**
      * Find items by category.
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CATEGORY_QUERY_REGION)
+    })
     List<Item> findByCategory(Category category);
     
     /**
@@ -31,6 +49,23 @@ public interface ItemRepository extends JpaRepository<Item, Long>, PagingAndSort
      */
     Page<Item> findByCategory(Category category, Pageable page);
     
+    /**
+     * Find a page of items without counting the whole table.
+     */
+    Slice<Item> findSliceBy(Pageable page);
+    
+    /**
+     * Find a page of items by category without counting the category.
+     */
+    @Query("SELECT i FROM Item i WHERE i.category = :category")
+    Slice<Item> findSliceByCategory(@Param("category") Category category, Pageable page);
+    
+    /**
+     * Count items per category in a single grouped query.
+     */
+    @Query("SELECT i.category, COUNT(i) FROM Item i GROUP BY i.category")
+    List<Object[]> countItemsGroupedByCategory();
+    
     /**
      * Find items by MRP price.
      */
@@ -86,4 +121,68 @@ public interface ItemRepository extends JpaRepository<Item, Long>, PagingAndSort
     List<Item> findByCategoryAndPriceRange(@Param("category") Category category, 
                                          @Param("minPrice") Double minPrice, 
                                          @Param("maxPrice") Double maxPrice);
+    
+    /**
+     * Find all items as DTOs, reading the vendor foreign key directly.
+     */
+    @Query("SELECT new com.groceteria.dto.ItemDTO(i.itemId, i.itemName, i.image, i.description, i.mrpPrice, i.quantity, i.category, i.vendor.userId) FROM Item i")
+    List<ItemDTO> findAllAsDTO();
+    
+    /**
+     * Find items by ID as DTOs, reading the current rows rather than the second-level cache.
+     */
+    @Query("SELECT new com.groceteria.dto.ItemDTO(i.itemId, i.itemName, i.image, i.description, i.mrpPrice, i.quantity, i.category, i.vendor.userId) FROM Item i WHERE i.itemId IN :itemIds")
+    List<ItemDTO> findByItemIdInAsDTO(@Param("itemIds") Collection<Long> itemIds);
+    
+    /**
+     * Find items by category as DTOs.
+     */
+    @Query("SELECT new com.groceteria.dto.ItemDTO(i.itemId, i.itemName, i.image, i.description, i.mrpPrice, i.quantity, i.category, i.vendor.userId) FROM Item i WHERE i.category = :category")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CATEGORY_QUERY_REGION)
+    })
+    List<ItemDTO> findByCategoryAsDTO(@Param("category") Category category);
+    
+    /**
+     * Find items by MRP price as DTOs.
+     */
+    @Query("SELECT new com.groceteria.dto.ItemDTO(i.itemId, i.itemName, i.image, i.description, i.mrpPrice, i.quantity, i.category, i.vendor.userId) FROM Item i WHERE i.mrpPrice = :mrpPrice")
+    List<ItemDTO> findByMrpPriceAsDTO(@Param("mrpPrice") Double mrpPrice);
+    
+    /**
+     * Find items by vendor ID as DTOs.
+     */
+    @Query("SELECT new com.groceteria.dto.ItemDTO(i.itemId, i.itemName, i.image, i.description, i.mrpPrice, i.quantity, i.category, i.vendor.userId) FROM Item i WHERE i.vendor.userId = :vendorId")
+    List<ItemDTO> findByVendorIdAsDTO(@Param("vendorId") Integer vendorId);
+    
+    /**
+     * Find items with quantity greater than specified value as DTOs.
+     */
+    @Query("SELECT new com.groceteria.dto.ItemDTO(i.itemId, i.itemName, i.image, i.description, i.mrpPrice, i.quantity, i.category, i.vendor.userId) FROM Item i WHERE i.quantity > :quantity")
+    List<ItemDTO> findByQuantityGreaterThanAsDTO(@Param("quantity") Long quantity);
+    
+    /**
+     * Find items by price range as DTOs.
+     */
+    @Query("SELECT new com.groceteria.dto.ItemDTO(i.itemId, i.itemName, i.image, i.description, i.mrpPrice, i.quantity, i.category, i.vendor.userId) FROM Item i WHERE i.mrpPrice BETWEEN :minPrice AND :maxPrice")
+    List<ItemDTO> findByPriceRangeAsDTO(@Param("minPrice") Double minPrice, @Param("maxPrice") Double maxPrice);
+    
+    /**
+     * Find items by category and price range as DTOs.
+     */
+    @Query("SELECT new com.groceteria.dto.ItemDTO(i.itemId, i.itemName, i.image, i.description, i.mrpPrice, i.quantity, i.category, i.vendor.userId) FROM Item i WHERE i.category = :category AND i.mrpPrice BETWEEN :minPrice AND :maxPrice")
+    List<ItemDTO> findByCategoryAndPriceRangeAsDTO(@Param("category") Category category,
+                                                 @Param("minPrice") Double minPrice,
+                                                 @Param("maxPrice") Double maxPrice);
+    
+    /**
+     * Find the next keyset page of items after the given item ID.
+     */
+    List<Item> findByItemIdGreaterThanOrderByItemIdAsc(Long itemId, Limit limit);
+    
+    /**
+     * Find the next keyset page of items in a category after the given item ID.
+     */
+    List<Item> findByCategoryAndItemIdGreaterThanOrderByItemIdAsc(Category category, Long itemId, Limit limit);
 }
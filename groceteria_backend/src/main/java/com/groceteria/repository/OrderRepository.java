@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.groceteria.dto.OrderDTO;
 import com.groceteria.entity.Order;
 import com.groceteria.entity.User;
 
@@ -64,4 +65,40 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      */
     @Query("SELECT o FROM Order o WHERE o.totalPrice > :minPrice")
     List<Order> findByTotalPriceGreaterThan(@Param("minPrice") Double minPrice);
+    
+    /**
+     * Find all orders as DTOs, reading the user foreign key directly.
+     */
+    @Query("SELECT new com.groceteria.dto.OrderDTO(o.orderId, o.totalPrice, o.orderStatus, o.paymentStatus, o.orderDate, o.user.userId) FROM Order o")
+    List<OrderDTO> findAllAsDTO();
+    
+    /**
+     * Find orders by user ID as DTOs.
+     */
+    @Query("SELECT new com.groceteria.dto.OrderDTO(o.orderId, o.totalPrice, o.orderStatus, o.paymentStatus, o.orderDate, o.user.userId) FROM Order o WHERE o.user.userId = :userId")
+    List<OrderDTO> findByUserIdAsDTO(@Param("userId") Integer userId);
+    
+    /**
+     * Find orders by user ID and order status as DTOs.
+     */
+    @Query("SELECT new com.groceteria.dto.OrderDTO(o.orderId, o.totalPrice, o.orderStatus, o.paymentStatus, o.orderDate, o.user.userId) FROM Order o WHERE o.user.userId = :userId AND o.orderStatus = :orderStatus")
+    List<OrderDTO> findByUserIdAndOrderStatusAsDTO(@Param("userId") Integer userId, @Param("orderStatus") String orderStatus);
+    
+    /**
+     * Find orders by order status as DTOs.
+     */
+    @Query("SELECT new com.groceteria.dto.OrderDTO(o.orderId, o.totalPrice, o.orderStatus, o.paymentStatus, o.orderDate, o.user.userId) FROM Order o WHERE o.orderStatus = :orderStatus")
+    List<OrderDTO> findByOrderStatusAsDTO(@Param("orderStatus") String orderStatus);
+    
+    /**
+     * Find orders by payment status as DTOs.
+     */
+    @Query("SELECT new com.groceteria.dto.OrderDTO(o.orderId, o.totalPrice, o.orderStatus, o.paymentStatus, o.orderDate, o.user.userId) FROM Order o WHERE o.paymentStatus = :paymentStatus")
+    List<OrderDTO> findByPaymentStatusAsDTO(@Param("paymentStatus") String paymentStatus);
+    
+    /**
+     * Find orders with total price greater than specified amount as DTOs.
+     */
+    @Query("SELECT new com.groceteria.dto.OrderDTO(o.orderId, o.totalPrice, o.orderStatus, o.paymentStatus, o.orderDate, o.user.userId) FROM Order o WHERE o.totalPrice > :minPrice")
+    List<OrderDTO> findByTotalPriceGreaterThanAsDTO(@Param("minPrice") Double minPrice);
 }
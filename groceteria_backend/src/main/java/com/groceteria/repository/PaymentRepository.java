@@ -4,10 +4,13 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.groceteria.dto.PaymentDTO;
 import com.groceteria.entity.Payment;
 import com.groceteria.entity.User;
 
@@ -28,6 +31,20 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
      */
     Optional<Payment> findFirstByOrderId(Long orderId);
     
+    /**
+     * Move a FAILED payment back to PENDING for a retry, in a single conditional update.
+     * Returns 0 when the payment is not FAILED, e.g. because a concurrent retry claimed it first.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Payment p SET p.status = '" + Payment.STATUS_PENDING + "' WHERE p.paymentId = :paymentId AND p.status = '" + Payment.STATUS_FAILED + "'")
+    int claimFailedPayment(@Param("paymentId") Long paymentId);
+    
+    /**
+     * Find payments by processing status.
+     */
+    List<Payment> findByStatus(String status);
+    
     /**
      * Find payments by user.
      */
@@ -51,6 +68,30 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     @Query("SELECT p FROM Payment p WHERE p.paidAmount > :amount")
     List<Payment> findByPaidAmountGreaterThan(@Param("amount") Double amount);
     
+    /**
+     * Find all payments as DTOs, reading the user foreign key directly.
+     */
+    @Query("SELECT new com.groceteria.dto.PaymentDTO(p.paymentId, p.totalPrice, p.orderId, p.paidDate, p.paidAmount, p.user.userId, p.status) FROM Payment p")
+    List<PaymentDTO> findAllAsDTO();
+    
+    /**
+     * Find payments by user ID as DTOs.
+     */
+    @Query("SELECT new com.groceteria.dto.PaymentDTO(p.paymentId, p.totalPrice, p.orderId, p.paidDate, p.paidAmount, p.user.userId, p.status) FROM Payment p WHERE p.user.userId = :userId")
+    List<PaymentDTO> findByUserIdAsDTO(@Param("userId") Integer userId);
+    
+    /**
+     * Find payments by paid amount range as DTOs.
+     */
+    @Query("SELECT new com.groceteria.dto.PaymentDTO(p.paymentId, p.totalPrice, p.orderId, p.paidDate, p.paidAmount, p.user.userId, p.status) FROM Payment p WHERE p.paidAmount BETWEEN :minAmount AND :maxAmount")
+    List<PaymentDTO> findByPaidAmountBetweenAsDTO(@Param("minAmount") Double minAmount, @Param("maxAmount") Double maxAmount);
+    
+    /**
+     * Find payments with paid amount greater than specified amount as DTOs.
+     */
+    @Query("SELECT new com.groceteria.dto.PaymentDTO(p.paymentId, p.totalPrice, p.orderId, p.paidDate, p.paidAmount, p.user.userId, p.status) FROM Payment p WHERE p.paidAmount > :amount")
+    List<PaymentDTO> findByPaidAmountGreaterThanAsDTO(@Param("amount") Double amount);
+    
     /**
      * Count payments by user.
      */
@@ -3,18 +3,27 @@ package com.groceteria.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.groceteria.entity.User;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository interface for User entity operations.
  * Provides methods for user management with support for USER and VENDOR roles.
  */
 @Repository
 public interface UserRepository extends JpaRepository<User, Integer> {
+
+    /**
+     * Second-level cache region for vendor list queries.
+     */
+    String VENDOR_QUERY_REGION = "vendor-queries";
     
     /**
      * Find user by email and password for authentication.
@@ -35,6 +44,10 @@ public interface UserRepository extends JpaRepository<User, Integer> {
      * Find all vendors (users with VENDOR role).
      */
     @Query("SELECT u FROM User u WHERE u.role = 'VENDOR'")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = VENDOR_QUERY_REGION)
+    })
     List<User> findAllVendors();
 
     /**
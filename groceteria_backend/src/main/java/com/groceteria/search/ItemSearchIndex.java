@@ -0,0 +1,227 @@
+package com.groceteria.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import com.groceteria.dto.ItemDTO;
+import com.groceteria.entity.Item;
+import com.groceteria.event.ItemChangedEvent;
+import com.groceteria.repository.ItemRepository;
+
+/**
+ * In-memory inverted index over item names and descriptions.
+ * Built once at startup from the item table and updated incrementally from item
+ * change events, so keyword search resolves to ranked item IDs without a LIKE scan.
+ * Every query token must match (exactly or as a prefix) a term of the item; name
+ * matches outrank description matches and exact matches outrank prefix matches.
+ */
+@Component
+public class ItemSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ItemSearchIndex.class);
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final ItemRepository itemRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+    // Changes seen while a rebuild reads the item table, replayed onto its result; null when not rebuilding
+    private List<ItemChangedEvent> changedDuringRebuild;
+    private volatile boolean ready;
+
+    public ItemSearchIndex(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    /**
+     * Split text into lowercase alphanumeric tokens.
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(text.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+            .filter(token -> !token.isEmpty())
+            .toList();
+    }
+
+    /**
+     * Whether the index has finished its initial load.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Rebuild the index from the item table, reading it in keyset batches.
+     * Item changes published while the table is read are replayed onto the new index,
+     * since the batches read before a change may not reflect it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Map<Long, Map<String, Integer>> loaded = new HashMap<>();
+        try {
+            long lastItemId = 0L;
+            List<Item> batch;
+            do {
+                batch = itemRepository.findByItemIdGreaterThanOrderByItemIdAsc(lastItemId, Limit.of(LOAD_BATCH_SIZE));
+                for (Item item : batch) {
+                    loaded.put(item.getItemId(), termsOf(item.getItemName(), item.getDescription()));
+                    lastItemId = item.getItemId();
+                }
+            } while (batch.size() == LOAD_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            loaded.forEach(this::addDocument);
+            changedDuringRebuild.forEach(this::apply);
+            changedDuringRebuild = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Item search index built with {} items and {} terms in {} ms",
+            loaded.size(), postings.size(), System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(event);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Return IDs of items matching every token of the query, best match first.
+     */
+    public List<Long> search(String query) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> scores = null;
+            for (String token : tokens) {
+                Map<Long, Integer> tokenScores = scoreToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    Map<Long, Integer> merged = new HashMap<>();
+                    for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+                        Integer score = tokenScores.get(entry.getKey());
+                        if (score != null) {
+                            merged.put(entry.getKey(), entry.getValue() + score);
+                        }
+                    }
+                    scores = merged;
+                }
+                if (scores.isEmpty()) {
+                    return Collections.emptyList();
+                }
+            }
+            List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()));
+            return ranked.stream().map(Map.Entry::getKey).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Idempotent, so replaying a change the rebuild already read is harmless
+    private void apply(ItemChangedEvent event) {
+        removeDocument(event.getItemId());
+        ItemDTO after = event.getAfter();
+        if (after != null) {
+            addDocument(after.getItemId(), termsOf(after.getItemName(), after.getDescription()));
+        }
+    }
+
+    // Exact term hits score double the weight of prefix hits
+    private Map<Long, Integer> scoreToken(String token) {
+        Map<Long, Integer> scores = new HashMap<>();
+        NavigableMap<String, Map<Long, Integer>> matches =
+            postings.subMap(token, true, token + Character.MAX_VALUE, false);
+        for (Map.Entry<String, Map<Long, Integer>> term : matches.entrySet()) {
+            int factor = term.getKey().equals(token) ? 2 : 1;
+            term.getValue().forEach((itemId, weight) -> scores.merge(itemId, weight * factor, Math::max));
+        }
+        return scores;
+    }
+
+    private Map<String, Integer> termsOf(String name, String description) {
+        Map<String, Integer> terms = new HashMap<>();
+        for (String token : tokenize(description)) {
+            terms.merge(token, DESCRIPTION_WEIGHT, Math::max);
+        }
+        for (String token : tokenize(name)) {
+            terms.merge(token, NAME_WEIGHT, Math::max);
+        }
+        return terms;
+    }
+
+    private void addDocument(Long itemId, Map<String, Integer> terms) {
+        documents.put(itemId, terms);
+        terms.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(itemId, weight));
+    }
+
+    private void removeDocument(Long itemId) {
+        Map<String, Integer> terms = documents.remove(itemId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            Map<Long, Integer> items = postings.get(term);
+            if (items != null) {
+                items.remove(itemId);
+                if (items.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+}
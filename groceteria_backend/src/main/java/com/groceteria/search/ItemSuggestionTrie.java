@@ -0,0 +1,404 @@
+package com.groceteria.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import com.groceteria.dto.ItemDTO;
+import com.groceteria.dto.ItemSuggestionDTO;
+import com.groceteria.entity.Item;
+import com.groceteria.event.ItemChangedEvent;
+import com.groceteria.repository.ItemRepository;
+
+/**
+ * Weighted prefix trie of item names used for type-ahead suggestions.
+ * Each name is inserted from every word start, so "pot" completes both "Potato" and
+ * "Sweet Potato". The trie is path-compressed: an edge carries the whole run of
+ * characters up to the next branch or name end, so a name adds nodes only where it
+ * diverges from names already present. Children are kept in parallel arrays sorted by
+ * the first character of their edge, and every node records the highest weight below
+ * it, which lets a best-first walk return the top-k completions without visiting the
+ * whole subtree. Weights are stock quantities.
+ */
+@Component
+public class ItemSuggestionTrie {
+
+    private static final Logger log = LoggerFactory.getLogger(ItemSuggestionTrie.class);
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final ItemRepository itemRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root = new Node("");
+    // Changes seen while a rebuild reads the item table, replayed onto its result; null when not rebuilding
+    private List<ItemChangedEvent> changedDuringRebuild;
+
+    public ItemSuggestionTrie(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    /**
+     * Rebuild the trie from the item table, reading it in keyset batches.
+     * Item changes published while the table is read are replayed onto the new trie.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Node rebuilt = new Node("");
+        int count = 0;
+        try {
+            long lastItemId = 0L;
+            List<Item> batch;
+            do {
+                batch = itemRepository.findByItemIdGreaterThanOrderByItemIdAsc(lastItemId, Limit.of(LOAD_BATCH_SIZE));
+                for (Item item : batch) {
+                    insert(rebuilt, new Suggestion(item.getItemId(), item.getItemName(), weightOf(item.getQuantity())));
+                    lastItemId = item.getItemId();
+                    count++;
+                }
+            } while (batch.size() == LOAD_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (ItemChangedEvent event : changedDuringRebuild) {
+                apply(rebuilt, event);
+            }
+            changedDuringRebuild = null;
+            root = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Item suggestion trie built with {} items in {} ms", count, System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(root, event);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Return up to {@code limit} items whose name (or a word of it) starts with the prefix,
+     * highest weight first.
+     */
+    public List<ItemSuggestionDTO> suggest(String prefix, int limit) {
+        List<ItemSuggestionDTO> results = new ArrayList<>();
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit < 1) {
+            return results;
+        }
+        lock.readLock().lock();
+        try {
+            // The prefix may end part-way along an edge; everything below that edge still matches
+            Node node = root;
+            int matched = 0;
+            while (matched < key.length()) {
+                Node child = node.child(key.charAt(matched));
+                if (child == null) {
+                    return results;
+                }
+                int common = commonPrefixLength(child.label, key, matched);
+                if (common < child.label.length() && matched + common < key.length()) {
+                    return results;
+                }
+                matched += common;
+                node = child;
+            }
+
+            // Best-first walk: queue holds both subtrees (by max weight) and concrete suggestions
+            PriorityQueue<Candidate> queue = new PriorityQueue<>(Comparator.comparingLong(Candidate::weight).reversed());
+            queue.add(Candidate.of(node));
+            Set<Long> seen = new HashSet<>();
+            while (!queue.isEmpty() && results.size() < limit) {
+                Candidate head = queue.poll();
+                if (head.suggestion() != null) {
+                    Suggestion suggestion = head.suggestion();
+                    if (seen.add(suggestion.itemId())) {
+                        results.add(ItemSuggestionDTO.builder()
+                            .itemId(suggestion.itemId())
+                            .itemName(suggestion.name())
+                            .weight(suggestion.weight())
+                            .build());
+                    }
+                    continue;
+                }
+                Node current = head.node();
+                if (current.entries != null) {
+                    for (Suggestion entry : current.entries) {
+                        queue.add(Candidate.of(entry));
+                    }
+                }
+                for (Node child : current.children) {
+                    queue.add(Candidate.of(child));
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long weightOf(Long quantity) {
+        return quantity != null ? quantity : 0L;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase().replaceAll("\\s+", " ");
+    }
+
+    // Word start offsets of the normalized name
+    private static List<String> keysOf(String name) {
+        String normalized = normalize(name);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            if (i == 0 || normalized.charAt(i - 1) == ' ') {
+                keys.add(normalized.substring(i));
+            }
+        }
+        return keys;
+    }
+
+    // Number of leading characters of label that match key from offset on
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int length = 0;
+        while (length < label.length() && offset + length < key.length()
+                && label.charAt(length) == key.charAt(offset + length)) {
+            length++;
+        }
+        return length;
+    }
+
+    // Removing the new name too keeps a replayed change from adding the item twice
+    private static void apply(Node root, ItemChangedEvent event) {
+        ItemDTO before = event.getBefore();
+        if (before != null) {
+            remove(root, before.getItemId(), before.getItemName());
+        }
+        ItemDTO after = event.getAfter();
+        if (after != null) {
+            remove(root, after.getItemId(), after.getItemName());
+            insert(root, new Suggestion(after.getItemId(), after.getItemName(), weightOf(after.getQuantity())));
+        }
+    }
+
+    private static void insert(Node root, Suggestion suggestion) {
+        for (String key : keysOf(suggestion.name())) {
+            List<Node> path = new ArrayList<>();
+            Node node = root;
+            path.add(node);
+            int matched = 0;
+            while (matched < key.length()) {
+                Node child = node.child(key.charAt(matched));
+                if (child == null) {
+                    child = new Node(key.substring(matched));
+                    node.addChild(child);
+                    matched = key.length();
+                } else {
+                    int common = commonPrefixLength(child.label, key, matched);
+                    if (common < child.label.length()) {
+                        child = node.split(child, common);
+                    }
+                    matched += common;
+                }
+                node = child;
+                path.add(node);
+            }
+            node.addEntry(suggestion);
+            for (Node onPath : path) {
+                onPath.maxWeight = Math.max(onPath.maxWeight, suggestion.weight());
+            }
+        }
+    }
+
+    private static void remove(Node root, Long itemId, String name) {
+        for (String key : keysOf(name)) {
+            List<Node> path = new ArrayList<>();
+            Node node = root;
+            path.add(node);
+            int matched = 0;
+            while (matched < key.length() && node != null) {
+                node = node.child(key.charAt(matched));
+                if (node != null && !key.startsWith(node.label, matched)) {
+                    node = null;
+                }
+                if (node != null) {
+                    matched += node.label.length();
+                    path.add(node);
+                }
+            }
+            if (node == null) {
+                continue;
+            }
+            node.removeEntry(itemId);
+            // Bottom-up: prune empty branches, re-merge pass-through nodes and recompute max weights
+            for (int i = path.size() - 1; i >= 0; i--) {
+                Node current = path.get(i);
+                if (i > 0 && current.isEmpty()) {
+                    path.get(i - 1).removeChild(current.label.charAt(0));
+                    continue;
+                }
+                if (i > 0 && current.entries == null && current.children.length == 1) {
+                    current.mergeOnlyChild();
+                }
+                current.recomputeMaxWeight();
+            }
+        }
+    }
+
+    private record Suggestion(Long itemId, String name, long weight) {
+    }
+
+    // Queue element of the best-first walk: either a subtree ranked by its max weight or a single suggestion
+    private record Candidate(long weight, Node node, Suggestion suggestion) {
+
+        private static Candidate of(Node node) {
+            return new Candidate(node.maxWeight, node, null);
+        }
+
+        private static Candidate of(Suggestion suggestion) {
+            return new Candidate(suggestion.weight(), null, suggestion);
+        }
+    }
+
+    private static final class Node {
+        // Characters on the edge from the parent; empty only for the root
+        private String label;
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private Suggestion[] entries;
+        private long maxWeight = Long.MIN_VALUE;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private void addChild(Node child) {
+            int insertAt = -Arrays.binarySearch(keys, child.label.charAt(0)) - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = child.label.charAt(0);
+            newChildren[insertAt] = child;
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        // Cut the edge to child after length characters, returning the new node at the cut
+        private Node split(Node child, int length) {
+            Node cut = new Node(child.label.substring(0, length));
+            child.label = child.label.substring(length);
+            cut.keys = new char[] { child.label.charAt(0) };
+            cut.children = new Node[] { child };
+            cut.maxWeight = child.maxWeight;
+            children[Arrays.binarySearch(keys, cut.label.charAt(0))] = cut;
+            return cut;
+        }
+
+        // Absorb the single child into this node, extending this node's edge by the child's
+        private void mergeOnlyChild() {
+            Node only = children[0];
+            label = label + only.label;
+            keys = only.keys;
+            children = only.children;
+            entries = only.entries;
+            maxWeight = only.maxWeight;
+        }
+
+        private void removeChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index < 0) {
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            keys = newKeys.length == 0 ? NO_KEYS : newKeys;
+            children = newChildren.length == 0 ? NO_CHILDREN : newChildren;
+        }
+
+        private void addEntry(Suggestion suggestion) {
+            if (entries == null) {
+                entries = new Suggestion[] { suggestion };
+                return;
+            }
+            entries = Arrays.copyOf(entries, entries.length + 1);
+            entries[entries.length - 1] = suggestion;
+        }
+
+        private void removeEntry(Long itemId) {
+            if (entries == null) {
+                return;
+            }
+            Suggestion[] kept = Arrays.stream(entries)
+                .filter(entry -> !entry.itemId().equals(itemId))
+                .toArray(Suggestion[]::new);
+            entries = kept.length == 0 ? null : kept;
+        }
+
+        private void recomputeMaxWeight() {
+            long max = Long.MIN_VALUE;
+            if (entries != null) {
+                for (Suggestion entry : entries) {
+                    max = Math.max(max, entry.weight());
+                }
+            }
+            for (Node child : children) {
+                max = Math.max(max, child.maxWeight);
+            }
+            maxWeight = max;
+        }
+
+        private boolean isEmpty() {
+            return entries == null && children.length == 0;
+        }
+    }
+}
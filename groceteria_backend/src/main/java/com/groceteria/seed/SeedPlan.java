@@ -0,0 +1,60 @@
+package com.groceteria.seed;
+
+import java.time.LocalDate;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Volumes and distribution parameters for a synthetic data run.
+ * The same plan and seed always produce the same rows.
+ */
+@Value
+@Builder
+public class SeedPlan {
+
+    @Builder.Default
+    long seed = 42L;
+
+    @Builder.Default
+    int vendors = 100;
+
+    /** Customers, in addition to vendors. */
+    @Builder.Default
+    int customers = 100_000;
+
+    @Builder.Default
+    int items = 100_000;
+
+    @Builder.Default
+    int orders = 500_000;
+
+    /** Customers that have an active cart. */
+    @Builder.Default
+    int cartUsers = 20_000;
+
+    @Builder.Default
+    int maxCartLines = 8;
+
+    @Builder.Default
+    int maxOrderLines = 5;
+
+    /** Zipf exponent of item popularity in carts and orders. */
+    @Builder.Default
+    double itemSkew = 1.0;
+
+    /** Zipf exponent of orders per customer; higher means more repeat buying by fewer customers. */
+    @Builder.Default
+    double buyerSkew = 0.8;
+
+    /** Zipf exponent of items per category. */
+    @Builder.Default
+    double categorySkew = 0.7;
+
+    /** Order and account dates fall in the year before this date. */
+    @Builder.Default
+    LocalDate referenceDate = LocalDate.of(2024, 6, 30);
+
+    @Builder.Default
+    int batchSize = 1000;
+}
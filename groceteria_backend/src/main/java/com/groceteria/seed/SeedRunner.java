@@ -0,0 +1,58 @@
+package com.groceteria.seed;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Runs the synthetic data generator at startup when {@code groceteria.seed.enabled=true}.
+ * Runs before the application reports ready, so the search index and suggestion trie
+ * are built over the generated catalog. The second-level cache is cleared afterwards,
+ * since the rows are written with plain JDBC.
+ */
+@Component
+@ConditionalOnProperty(name = "groceteria.seed.enabled", havingValue = "true")
+public class SeedRunner implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final SeedPlan plan;
+
+    public SeedRunner(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+            @Value("${groceteria.seed.seed:42}") long seed,
+            @Value("${groceteria.seed.vendors:100}") int vendors,
+            @Value("${groceteria.seed.customers:100000}") int customers,
+            @Value("${groceteria.seed.items:100000}") int items,
+            @Value("${groceteria.seed.orders:500000}") int orders,
+            @Value("${groceteria.seed.cart-users:20000}") int cartUsers,
+            @Value("${groceteria.seed.item-skew:1.0}") double itemSkew,
+            @Value("${groceteria.seed.buyer-skew:0.8}") double buyerSkew,
+            @Value("${groceteria.seed.category-skew:0.7}") double categorySkew,
+            @Value("${groceteria.seed.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.plan = SeedPlan.builder()
+            .seed(seed)
+            .vendors(vendors)
+            .customers(customers)
+            .items(items)
+            .orders(orders)
+            .cartUsers(cartUsers)
+            .itemSkew(itemSkew)
+            .buyerSkew(buyerSkew)
+            .categorySkew(categorySkew)
+            .batchSize(batchSize)
+            .build();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        new SyntheticDataGenerator(jdbcTemplate, plan).generate();
+        entityManagerFactory.getCache().evictAll();
+    }
+}
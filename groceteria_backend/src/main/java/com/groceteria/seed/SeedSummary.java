@@ -0,0 +1,21 @@
+package com.groceteria.seed;
+
+import lombok.Value;
+
+/**
+ * ID ranges and row counts written by a synthetic data run.
+ * Vendors occupy the first {@code vendors} user IDs, customers the rest.
+ */
+@Value
+public class SeedSummary {
+    int firstUserId;
+    int vendors;
+    int customers;
+    long firstItemId;
+    int items;
+    long firstOrderId;
+    int orders;
+    int carts;
+    int payments;
+    long elapsedMillis;
+}
@@ -0,0 +1,289 @@
+package com.groceteria.seed;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.groceteria.entity.Category;
+
+/**
+ * Bulk generator of users, items, carts, orders and payments for performance work.
+ * Rows are written with JDBC batch inserts and explicit IDs above the current maximum,
+ * then the ID sequences are advanced past them. Item popularity in carts and orders and
+ * the number of orders per customer both follow Zipf distributions, and items are skewed
+ * across categories. Popularity ranks are scattered over the ID range so hot rows are not
+ * simply the lowest IDs. All randomness comes from the plan's seed.
+ */
+public class SyntheticDataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String[] ADJECTIVES = {
+        "Organic", "Fresh", "Farm", "Premium", "Local", "Classic", "Natural", "Select", "Daily", "Golden"
+    };
+
+    private static final Map<Category, String[]> PRODUCTS = new EnumMap<>(Category.class);
+
+    static {
+        PRODUCTS.put(Category.VEGETABLES, new String[] { "Tomato", "Potato", "Onion", "Carrot", "Spinach", "Cabbage", "Okra", "Cauliflower" });
+        PRODUCTS.put(Category.FRUITS, new String[] { "Apple", "Banana", "Mango", "Grapes", "Orange", "Papaya", "Guava", "Pomegranate" });
+        PRODUCTS.put(Category.DAIRYPRODUCTS, new String[] { "Milk", "Paneer", "Butter", "Yogurt", "Cheese", "Ghee", "Cream" });
+        PRODUCTS.put(Category.MEAT, new String[] { "Chicken", "Mutton", "Fish", "Prawns", "Eggs" });
+        PRODUCTS.put(Category.GRAINSANDOILS, new String[] { "Rice", "Wheat", "Lentils", "Mustard Oil", "Sunflower Oil", "Oats" });
+        PRODUCTS.put(Category.SPICESANDSEASONINGS, new String[] { "Turmeric", "Cumin", "Chilli Powder", "Pepper", "Garam Masala", "Coriander" });
+        PRODUCTS.put(Category.BAKINGINGREDIENTS, new String[] { "Flour", "Sugar", "Yeast", "Baking Soda", "Cocoa" });
+        PRODUCTS.put(Category.CONDIMENTS, new String[] { "Ketchup", "Pickle", "Mayonnaise", "Chutney", "Vinegar" });
+        PRODUCTS.put(Category.SNACKS, new String[] { "Chips", "Cookies", "Namkeen", "Popcorn", "Peanuts" });
+        PRODUCTS.put(Category.SKINCARE, new String[] { "Soap", "Face Wash", "Moisturizer", "Sunscreen" });
+    }
+
+    private static final String[] ORDER_STATUSES = { "PENDING", "CONFIRMED", "DELIVERED", "CANCELLED" };
+    private static final double[] ORDER_STATUS_CDF = { 0.15, 0.50, 0.90, 1.0 };
+
+    // Large prime used to scatter popularity ranks over the ID range (a bijection unless the range is a multiple of it)
+    private static final long SCATTER = 2_654_435_761L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SeedPlan plan;
+    private final Random random;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, SeedPlan plan) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.plan = plan;
+        this.random = new Random(plan.getSeed());
+    }
+
+    /**
+     * Product words used in generated item names, e.g. for picking search keywords.
+     */
+    public static List<String> productNames() {
+        return PRODUCTS.values().stream().flatMap(Arrays::stream).toList();
+    }
+
+    public SeedSummary generate() {
+        long start = System.currentTimeMillis();
+        int firstUserId = (int) nextId("users", "user_id");
+        long firstItemId = nextId("items", "item_id");
+        long firstCartId = nextId("carts", "cart_id");
+        long firstOrderId = nextId("orders", "order_id");
+        long firstPaymentId = nextId("payments", "payment_id");
+
+        int firstCustomerId = firstUserId + plan.getVendors();
+        insertUsers(firstUserId);
+        double[] prices = insertItems(firstItemId, firstUserId);
+
+        ZipfSampler itemPopularity = new ZipfSampler(plan.getItems(), plan.getItemSkew());
+        int carts = insertCarts(firstCartId, firstCustomerId, firstItemId, prices, itemPopularity);
+        int payments = insertOrders(firstOrderId, firstPaymentId, firstCustomerId, firstItemId, prices, itemPopularity);
+
+        advanceSequence("user_id_seq", firstUserId + plan.getVendors() + plan.getCustomers() - 1L);
+        advanceSequence("item_id_seq", firstItemId + plan.getItems() - 1);
+        advanceSequence("cart_id_seq", firstCartId + carts - 1);
+        advanceSequence("order_id_seq", firstOrderId + plan.getOrders() - 1);
+        advanceSequence("payment_id_seq", firstPaymentId + payments - 1);
+
+        SeedSummary summary = new SeedSummary(firstUserId, plan.getVendors(), plan.getCustomers(), firstItemId,
+            plan.getItems(), firstOrderId, plan.getOrders(), carts, payments, System.currentTimeMillis() - start);
+        log.info("Synthetic data generated: {}", summary);
+        return summary;
+    }
+
+    private void insertUsers(int firstUserId) {
+        long start = System.currentTimeMillis();
+        String sql = "INSERT INTO users (user_id, first_name, last_name, date_of_birth, gender, email, password, "
+            + "phone_number, district, state, address, zipcode, role, created_at, updated_at, is_active) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        int total = plan.getVendors() + plan.getCustomers();
+        List<Object[]> rows = new ArrayList<>(plan.getBatchSize());
+        for (int i = 0; i < total; i++) {
+            int userId = firstUserId + i;
+            Timestamp createdAt = Timestamp.valueOf(daysBefore(random.nextInt(730)).atStartOfDay());
+            rows.add(new Object[] {
+                userId, "First" + userId, "Last" + userId, Date.valueOf(daysBefore(6570 + random.nextInt(14600))),
+                random.nextBoolean() ? "MALE" : "FEMALE", "seed" + userId + "@groceteria.test", "Seed@1234",
+                String.format("9%09d", userId % 1_000_000_000), "District" + random.nextInt(200), "State" + random.nextInt(30),
+                userId + " Market Road", String.format("%06d", 100000 + random.nextInt(900000)),
+                i < plan.getVendors() ? "VENDOR" : "USER", createdAt, createdAt, true
+            });
+            flushIfFull(sql, rows);
+        }
+        flush(sql, rows);
+        log.info("Inserted {} users in {} ms", total, System.currentTimeMillis() - start);
+    }
+
+    private double[] insertItems(long firstItemId, int firstVendorId) {
+        long start = System.currentTimeMillis();
+        String sql = "INSERT INTO items (item_id, item_name, image, description, mrp_price, quantity, category, vendor_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        Category[] categories = Category.values();
+        ZipfSampler categorySkew = new ZipfSampler(categories.length, plan.getCategorySkew());
+        double[] prices = new double[plan.getItems()];
+        List<Object[]> rows = new ArrayList<>(plan.getBatchSize());
+        for (int i = 0; i < plan.getItems(); i++) {
+            long itemId = firstItemId + i;
+            Category category = categories[categorySkew.sample(random)];
+            String[] products = PRODUCTS.get(category);
+            String product = products[random.nextInt(products.length)];
+            String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+            prices[i] = Math.round((5 + random.nextDouble() * 495) * 100) / 100.0;
+            rows.add(new Object[] {
+                itemId, adjective + " " + product + " " + itemId, "/images/items/" + itemId + ".png",
+                adjective + " " + product.toLowerCase() + ", packed fresh", prices[i], (long) random.nextInt(1000),
+                category.name(), firstVendorId + random.nextInt(plan.getVendors())
+            });
+            flushIfFull(sql, rows);
+        }
+        flush(sql, rows);
+        log.info("Inserted {} items in {} ms", plan.getItems(), System.currentTimeMillis() - start);
+        return prices;
+    }
+
+    private int insertCarts(long firstCartId, int firstCustomerId, long firstItemId, double[] prices,
+            ZipfSampler itemPopularity) {
+        long start = System.currentTimeMillis();
+        String sql = "INSERT INTO carts (cart_id, quantity, mrp_price, item_id, user_id, last_touched) VALUES (?, ?, ?, ?, ?, ?)";
+        Timestamp touched = new Timestamp(System.currentTimeMillis());
+        int cartUsers = Math.min(plan.getCartUsers(), plan.getCustomers());
+        int maxLines = Math.min(plan.getMaxCartLines(), plan.getItems());
+        long cartId = firstCartId;
+        List<Object[]> rows = new ArrayList<>(plan.getBatchSize());
+        Set<Integer> lineItems = new HashSet<>();
+        for (int rank = 0; rank < cartUsers; rank++) {
+            int userId = firstCustomerId + scatter(rank, plan.getCustomers());
+            lineItems.clear();
+            int lines = 1 + random.nextInt(maxLines);
+            while (lineItems.size() < lines) {
+                lineItems.add(scatter(itemPopularity.sample(random), plan.getItems()));
+            }
+            for (int item : lineItems) {
+                rows.add(new Object[] { cartId++, 1L + random.nextInt(4), prices[item], firstItemId + item, userId, touched });
+                flushIfFull(sql, rows);
+            }
+        }
+        flush(sql, rows);
+        int carts = (int) (cartId - firstCartId);
+        log.info("Inserted {} cart lines for {} users in {} ms", carts, cartUsers, System.currentTimeMillis() - start);
+        return carts;
+    }
+
+    private int insertOrders(long firstOrderId, long firstPaymentId, int firstCustomerId, long firstItemId,
+            double[] prices, ZipfSampler itemPopularity) {
+        long start = System.currentTimeMillis();
+        String orderSql = "INSERT INTO orders (order_id, total_price, order_status, payment_status, order_date, user_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+        String orderItemSql = "INSERT INTO order_items (order_id, item_id) VALUES (?, ?)";
+        String paymentSql = "INSERT INTO payments (payment_id, total_price, order_id, paid_date, paid_amount, status, user_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        ZipfSampler buyers = new ZipfSampler(plan.getCustomers(), plan.getBuyerSkew());
+        int maxLines = Math.min(plan.getMaxOrderLines(), plan.getItems());
+        List<Object[]> orders = new ArrayList<>(plan.getBatchSize());
+        List<Object[]> orderItems = new ArrayList<>(plan.getBatchSize());
+        List<Object[]> payments = new ArrayList<>(plan.getBatchSize());
+        Set<Integer> lineItems = new HashSet<>();
+        long paymentId = firstPaymentId;
+        for (int i = 0; i < plan.getOrders(); i++) {
+            long orderId = firstOrderId + i;
+            int userId = firstCustomerId + scatter(buyers.sample(random), plan.getCustomers());
+            lineItems.clear();
+            int lines = 1 + random.nextInt(maxLines);
+            while (lineItems.size() < lines) {
+                lineItems.add(scatter(itemPopularity.sample(random), plan.getItems()));
+            }
+            double total = 0;
+            for (int item : lineItems) {
+                total += prices[item] * (1 + random.nextInt(3));
+                orderItems.add(new Object[] { orderId, firstItemId + item });
+            }
+            total = Math.round(total * 100) / 100.0;
+
+            String status = orderStatus(random.nextDouble());
+            boolean paid = "CONFIRMED".equals(status) || "DELIVERED".equals(status);
+            LocalDate orderDate = daysBefore(random.nextInt(365));
+            orders.add(new Object[] { orderId, total, status, paid ? "PAID" : "PENDING", Date.valueOf(orderDate), userId });
+            if (paid) {
+                payments.add(new Object[] { paymentId++, total, orderId, Date.valueOf(orderDate), total, "PAID", userId });
+            }
+
+            if (orders.size() >= plan.getBatchSize()) {
+                flushOrders(orderSql, orders, orderItemSql, orderItems, paymentSql, payments);
+            }
+        }
+        flushOrders(orderSql, orders, orderItemSql, orderItems, paymentSql, payments);
+        int paymentCount = (int) (paymentId - firstPaymentId);
+        log.info("Inserted {} orders and {} payments in {} ms", plan.getOrders(), paymentCount,
+            System.currentTimeMillis() - start);
+        return paymentCount;
+    }
+
+    // Orders first so the join-table and payment rows never reference a missing order
+    private void flushOrders(String orderSql, List<Object[]> orders, String orderItemSql, List<Object[]> orderItems,
+            String paymentSql, List<Object[]> payments) {
+        flush(orderSql, orders);
+        flush(orderItemSql, orderItems);
+        flush(paymentSql, payments);
+    }
+
+    private void flushIfFull(String sql, List<Object[]> rows) {
+        if (rows.size() >= plan.getBatchSize()) {
+            flush(sql, rows);
+        }
+    }
+
+    private void flush(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+
+    private static String orderStatus(double u) {
+        for (int i = 0; i < ORDER_STATUS_CDF.length; i++) {
+            if (u < ORDER_STATUS_CDF[i]) {
+                return ORDER_STATUSES[i];
+            }
+        }
+        return ORDER_STATUSES[ORDER_STATUSES.length - 1];
+    }
+
+    private LocalDate daysBefore(int days) {
+        return plan.getReferenceDate().minusDays(days);
+    }
+
+    private static int scatter(int rank, int size) {
+        return (int) Math.floorMod(rank * SCATTER, (long) size);
+    }
+
+    private long nextId(String table, String idColumn) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(" + idColumn + ") FROM " + table, Long.class);
+        return max == null ? 1L : max + 1;
+    }
+
+    /**
+     * Move a sequence past the seeded IDs. The pooled optimizer treats the stored value
+     * as the upper bound of the next block of 50, hence the extra block.
+     */
+    private void advanceSequence(String sequence, long lastId) {
+        long next = lastId + 51;
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+            connection.getMetaData().getDatabaseProductName());
+        if ("MySQL".equalsIgnoreCase(product)) {
+            // Hibernate emulates sequences on MySQL with a single-row table
+            jdbcTemplate.update("UPDATE " + sequence + " SET next_val = GREATEST(next_val, ?)", next);
+        } else {
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + next);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.groceteria.seed;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Samples ranks from a Zipf distribution: rank k (0-based) is drawn with probability
+ * proportional to 1 / (k + 1)^exponent. The cumulative distribution is precomputed
+ * once, so each sample is a binary search.
+ */
+public final class ZipfSampler {
+
+    private final double[] cdf;
+
+    public ZipfSampler(int size, double exponent) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Zipf size must be at least 1");
+        }
+        cdf = new double[size];
+        double sum = 0;
+        for (int k = 0; k < size; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < size; k++) {
+            cdf[k] /= sum;
+        }
+    }
+
+    /**
+     * Draw a rank in [0, size), rank 0 being the most frequent.
+     */
+    public int sample(Random random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cdf.length - 1);
+    }
+
+    public int size() {
+        return cdf.length;
+    }
+}
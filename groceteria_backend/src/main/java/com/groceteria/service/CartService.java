@@ -3,6 +3,8 @@ package com.groceteria.service;
 import java.util.List;
 
 import com.groceteria.dto.CartDTO;
+import com.groceteria.dto.CartLineOperationDTO;
+import com.groceteria.dto.CartSummaryDTO;
 import com.groceteria.entity.Cart;
 import com.groceteria.entity.User;
 
@@ -71,4 +73,23 @@ public interface CartService {
      * Clear user's cart.
      */
     void clearUserCart(Integer userId);
+    
+    /**
+     * Apply several add, set and remove operations to a user's cart in one transaction,
+     * in the order given.
+     *
+     * @return the user's cart after the operations
+     */
+    List<CartDTO> applyCartOperations(Integer userId, List<CartLineOperationDTO> operations);
+    
+    /**
+     * Get the user's cart lines with item details, line totals and the grand total
+     * at current item prices.
+     */
+    CartSummaryDTO getCartSummary(Integer userId);
+    
+    /**
+     * Write any pending changes of the user's cart to the database.
+     */
+    void flushCart(Integer userId);
 }
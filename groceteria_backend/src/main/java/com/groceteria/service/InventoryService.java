@@ -0,0 +1,23 @@
+package com.groceteria.service;
+
+import java.util.List;
+
+import com.groceteria.dto.StockLineDTO;
+import com.groceteria.dto.StockReservationDTO;
+
+/**
+ * Service interface for Inventory operations.
+ * Provides atomic stock reservation without read-modify-write on items.
+ */
+public interface InventoryService {
+    
+    /**
+     * Reserve stock for all lines, all or nothing.
+     */
+    StockReservationDTO reserve(List<StockLineDTO> lines);
+    
+    /**
+     * Return previously reserved stock.
+     */
+    void release(List<StockLineDTO> lines);
+}
@@ -2,8 +2,11 @@ package com.groceteria.service;
 
 import java.util.List;
 
+import com.groceteria.dto.CacheStatsDTO;
+import com.groceteria.dto.ItemCursorPagingDTO;
 import com.groceteria.dto.ItemDTO;
 import com.groceteria.dto.ItemPagingDTO;
+import com.groceteria.dto.ItemSuggestionDTO;
 import com.groceteria.entity.Category;
 import com.groceteria.entity.Item;
 
@@ -53,11 +56,31 @@ public interface ItemService {
      */
     ItemPagingDTO findItemsByCategory(Category category, Integer pageNo, Integer pageSize);
     
+    /**
+     * Find items by category with pagination, optionally skipping the total count.
+     */
+    ItemPagingDTO findItemsByCategory(Category category, Integer pageNo, Integer pageSize, boolean exactCount);
+    
     /**
      * Get all items with pagination.
      */
     ItemPagingDTO getAllItems(Integer pageNo, Integer pageSize);
     
+    /**
+     * Get all items with pagination, optionally skipping the total count.
+     */
+    ItemPagingDTO getAllItems(Integer pageNo, Integer pageSize, boolean exactCount);
+    
+    /**
+     * Get all items with cursor (keyset) pagination.
+     */
+    ItemCursorPagingDTO getAllItemsByCursor(String cursor, Integer pageSize);
+    
+    /**
+     * Find items by category with cursor (keyset) pagination.
+     */
+    ItemCursorPagingDTO findItemsByCategoryByCursor(Category category, String cursor, Integer pageSize);
+    
     /**
      * Find items by MRP price.
      */
@@ -68,6 +91,11 @@ public interface ItemService {
      */
     ItemPagingDTO findItemsByName(String keyword, Integer pageNo, Integer pageSize);
     
+    /**
+     * Suggest item names starting with the prefix, best stocked first.
+     */
+    List<ItemSuggestionDTO> suggestItems(String prefix, Integer limit);
+    
     /**
      * Get items by vendor.
      */
@@ -97,4 +125,9 @@ public interface ItemService {
      * Get available items with pagination.
      */
     ItemPagingDTO getAvailableItems(Integer pageNo, Integer pageSize);
+    
+    /**
+     * Get hit/miss/eviction statistics of the catalog cache.
+     */
+    CacheStatsDTO getCatalogCacheStats();
 }
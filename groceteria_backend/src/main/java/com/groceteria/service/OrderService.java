@@ -16,6 +16,11 @@ public interface OrderService {
      */
     OrderDTO addOrder(OrderDTO orderDTO, Integer userId);
     
+    /**
+     * Convert the user's cart into an order priced on the server and clear the cart.
+     */
+    OrderDTO checkout(Integer userId);
+    
     /**
      * Get order by ID.
      */
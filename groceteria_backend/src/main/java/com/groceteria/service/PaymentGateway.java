@@ -0,0 +1,17 @@
+package com.groceteria.service;
+
+import com.groceteria.dto.PaymentDTO;
+
+/**
+ * Payment gateway SPI used by the asynchronous payment pipeline.
+ * Implementations may block; they are always invoked on the payment executor,
+ * never on a request thread. The active implementation is chosen with
+ * {@code groceteria.payment.gateway} ({@code placeholder} or {@code simulator}).
+ */
+public interface PaymentGateway {
+    
+    /**
+     * Charge the payment and report the gateway's decision.
+     */
+    PaymentGatewayResult charge(PaymentDTO paymentDTO);
+}
@@ -0,0 +1,43 @@
+package com.groceteria.service;
+
+import lombok.Value;
+
+/**
+ * Outcome of a payment gateway call.
+ */
+@Value
+public class PaymentGatewayResult {
+
+    /**
+     * Gateway decision for a charge.
+     */
+    public enum Status {
+        APPROVED,
+        DECLINED,
+        ERROR,
+        TIMEOUT
+    }
+
+    Status status;
+    String message;
+
+    public static PaymentGatewayResult approved() {
+        return new PaymentGatewayResult(Status.APPROVED, "Payment approved");
+    }
+
+    public static PaymentGatewayResult declined(String message) {
+        return new PaymentGatewayResult(Status.DECLINED, message);
+    }
+
+    public static PaymentGatewayResult error(String message) {
+        return new PaymentGatewayResult(Status.ERROR, message);
+    }
+
+    public static PaymentGatewayResult timeout(String message) {
+        return new PaymentGatewayResult(Status.TIMEOUT, message);
+    }
+
+    public boolean isApproved() {
+        return status == Status.APPROVED;
+    }
+}
@@ -6,14 +6,12 @@ import com.groceteria.dto.PaymentDTO;
 
 /**
  * Service interface for Payment operations.
- * Provides payment management functionality.
- * Note: Payment gateway integration is planned for future implementation.
+ * Provides payment management functionality; gateway calls are processed asynchronously.
  */
 public interface PaymentService {
     
     /**
-     * Add a new payment record.
-     * Note: This is a placeholder for future payment gateway integration.
+     * Record a PENDING payment and queue it for asynchronous gateway processing.
      */
     PaymentDTO addPayment(PaymentDTO paymentDTO, Long orderId, Integer userId);
     
@@ -53,8 +51,7 @@ public interface PaymentService {
     List<PaymentDTO> getPaymentsByAmountGreaterThan(Double amount);
     
     /**
-     * Process payment (placeholder for future payment gateway).
-     * Currently does nothing - will be implemented with actual payment gateway.
+     * Queue a FAILED payment for another asynchronous gateway charge.
      */
-    boolean processPayment(PaymentDTO paymentDTO);
+    PaymentDTO processPayment(PaymentDTO paymentDTO);
 }
@@ -1,13 +1,27 @@
 package com.groceteria.serviceImpl;
 
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.groceteria.cart.CartIdGenerator;
+import com.groceteria.cart.CartLocks;
 import com.groceteria.dto.CartDTO;
+import com.groceteria.dto.CartLineOperationDTO;
+import com.groceteria.dto.CartSummaryDTO;
 import com.groceteria.entity.Cart;
 import com.groceteria.entity.Item;
 import com.groceteria.entity.User;
@@ -20,11 +34,22 @@ import com.groceteria.service.UserService;
 
 /**
  * Service implementation for Cart operations.
- * Provides shopping cart management functionality.
+ * Provides shopping cart management functionality. Adds and bulk changes to one user's
+ * cart are serialized by {@link CartLocks} and written as an atomic increment or upsert,
+ * so concurrent adds of the same item always merge into one row. Changes addressed by
+ * cart ID are single-row writes and need no lock.
  */
 @Service
+@ConditionalOnProperty(name = "groceteria.cart.store", havingValue = "database", matchIfMissing = true)
 public class CartServiceImpl implements CartService {
     
+    private static final String INCREMENT_SQL =
+        "UPDATE carts SET quantity = quantity + ?, mrp_price = ?, last_touched = ? WHERE user_id = ? AND item_id = ?";
+    // Relies on the unique (user_id, item_id) constraint when another instance inserted first
+    private static final String UPSERT_SQL =
+        "INSERT INTO carts (cart_id, quantity, mrp_price, item_id, user_id, last_touched) VALUES (?, ?, ?, ?, ?, ?) "
+        + "ON DUPLICATE KEY UPDATE quantity = quantity + ?, mrp_price = ?, last_touched = ?";
+    
     @Autowired
     private CartRepository cartRepository;
     
@@ -36,6 +61,21 @@ public class CartServiceImpl implements CartService {
     
     @Autowired
     private ItemRepository itemRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private CartLocks cartLocks;
+    
+    @Autowired
+    private CartIdGenerator cartIdGenerator;
+    
+    @Value("${groceteria.cart.max-operations:500}")
+    private int maxOperations;
 
     public CartServiceImpl(CartRepository cartRepository) {
         this.cartRepository = cartRepository;
@@ -43,38 +83,30 @@ public class CartServiceImpl implements CartService {
 
     @Override
     public CartDTO addToCart(CartDTO cartDTO, Long itemId, Integer userId) {
-        // Get item entity from repository directly
-        Item item = itemRepository.findById(itemId)
-            .orElseThrow(() -> new ResourceNotFoundException("Item", "Id", itemId));
-        User user = userService.getUserEntityById(userId);
-        
-        // Check if item already exists in user's cart
-        Optional<Cart> existingCart = cartRepository.findByUserIdAndItemId(userId, itemId);
-        
-        if (existingCart.isPresent()) {
-            // Update existing cart item
-            Cart cart = existingCart.get();
-            cart.setQuantity(cart.getQuantity() + cartDTO.getQuantity());
-            cart.setMrpPrice(item.getMrpPrice());
-            
-            Cart updatedCart = cartRepository.save(cart);
-            return mapToDTO(updatedCart);
-        } else {
-            // Create new cart item
-            Cart cart = mapToEntity(cartDTO);
-            cart.setItem(item);
-            cart.setMrpPrice(item.getMrpPrice());
-            cart.setUser(user);
+        // Lock before touching the database: a request waiting for the lock must not hold a connection
+        return cartLocks.withUserLock(userId, () -> transactionTemplate.execute(status -> {
+            // Get item entity from repository directly
+            Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new ResourceNotFoundException("Item", "Id", itemId));
+            userService.getUserEntityById(userId);
+            Long quantity = cartDTO.getQuantity();
+            Timestamp now = new Timestamp(System.currentTimeMillis());
             
-            Cart savedCart = cartRepository.save(cart);
-            return mapToDTO(savedCart);
-        }
+            // Merge into the existing line; insert only when the item is not in the cart yet
+            int merged = jdbcTemplate.update(INCREMENT_SQL, quantity, item.getMrpPrice(), now, userId, itemId);
+            if (merged == 0) {
+                jdbcTemplate.update(UPSERT_SQL, cartIdGenerator.nextId(), quantity, item.getMrpPrice(), itemId, userId, now,
+                    quantity, item.getMrpPrice(), now);
+            }
+            Cart cart = cartRepository.findByUserIdAndItemId(userId, itemId)
+                .orElseThrow(() -> new ResourceNotFoundException("Cart", "Item Id", itemId));
+            return mapToDTO(cart);
+        }));
     }
 
     @Override
     public List<CartDTO> getAllCartItems() {
-        List<Cart> carts = cartRepository.findAll();
-        return carts.stream().map(this::mapToDTO).collect(Collectors.toList());
+        return cartRepository.findAllAsDTO();
     }
 
     @Override
@@ -115,14 +147,12 @@ public class CartServiceImpl implements CartService {
     
     @Override
     public List<CartDTO> getCartByUser(User user) {
-        List<Cart> carts = cartRepository.findByUser(user);
-        return carts.stream().map(this::mapToDTO).collect(Collectors.toList());
+        return cartRepository.findByUserIdAsDTO(user.getUserId());
     }
     
     @Override
     public List<CartDTO> getCartByUserId(Integer userId) {
-        List<Cart> carts = cartRepository.findByUserId(userId);
-        return carts.stream().map(this::mapToDTO).collect(Collectors.toList());
+        return cartRepository.findByUserIdAsDTO(userId);
     }
     
     @Override
@@ -145,6 +175,71 @@ public class CartServiceImpl implements CartService {
         cartRepository.deleteByUserId(userId);
     }
     
+    @Override
+    public List<CartDTO> applyCartOperations(Integer userId, List<CartLineOperationDTO> operations) {
+        // The lock is taken before any database access and held until the transaction has committed
+        return cartLocks.withUserLock(userId, () -> transactionTemplate.execute(status -> applyInTransaction(userId, operations)));
+    }
+    
+    private List<CartDTO> applyInTransaction(Integer userId, List<CartLineOperationDTO> operations) {
+        Map<Long, Item> items = CartServiceSupport.resolveItems(itemRepository, operations, maxOperations);
+        User user = userService.getUserEntityById(userId);
+        
+        Map<Long, Cart> lines = new HashMap<>();
+        for (Cart cart : cartRepository.findByUserIdAndItemIdIn(userId, items.keySet())) {
+            lines.putIfAbsent(cart.getItem().getItemId(), cart);
+        }
+        // A line removed and then added again in the same request keeps its row,
+        // since Hibernate would otherwise insert the new row before deleting the old one
+        Set<Long> removed = new HashSet<>();
+        for (CartLineOperationDTO operation : operations) {
+            Long itemId = operation.getItemId();
+            Cart cart = lines.get(itemId);
+            if (operation.getAction() == CartLineOperationDTO.Action.REMOVE) {
+                if (cart != null) {
+                    removed.add(itemId);
+                }
+                continue;
+            }
+            Item item = items.get(itemId);
+            if (cart == null) {
+                cart = Cart.builder().quantity(0L).item(item).user(user).build();
+                lines.put(itemId, cart);
+            } else if (removed.remove(itemId)) {
+                cart.setQuantity(0L);
+            }
+            cart.setQuantity(operation.getAction() == CartLineOperationDTO.Action.ADD
+                ? cart.getQuantity() + operation.getQuantity() : operation.getQuantity());
+            cart.setMrpPrice(item.getMrpPrice());
+        }
+        
+        // Updates to loaded rows are flushed by dirty checking; all statements go out in JDBC batches
+        List<Cart> inserts = new ArrayList<>();
+        List<Cart> deletes = new ArrayList<>();
+        lines.forEach((itemId, cart) -> {
+            if (removed.contains(itemId)) {
+                if (cart.getCartId() != null) {
+                    deletes.add(cart);
+                }
+            } else if (cart.getCartId() == null) {
+                inserts.add(cart);
+            }
+        });
+        cartRepository.deleteAll(deletes);
+        cartRepository.saveAll(inserts);
+        return cartRepository.findByUserIdAsDTO(userId);
+    }
+    
+    @Override
+    public CartSummaryDTO getCartSummary(Integer userId) {
+        return CartServiceSupport.summarize(userId, cartRepository.findSummaryLinesByUserId(userId));
+    }
+    
+    @Override
+    public void flushCart(Integer userId) {
+        // Every change is written immediately
+    }
+    
     // Helper methods for entity-DTO mapping
     private Cart mapToEntity(CartDTO cartDTO) {
         return Cart.builder()
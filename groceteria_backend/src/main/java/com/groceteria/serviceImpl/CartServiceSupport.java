@@ -0,0 +1,81 @@
+package com.groceteria.serviceImpl;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.groceteria.dto.CartLineOperationDTO;
+import com.groceteria.dto.CartSummaryDTO;
+import com.groceteria.dto.CartSummaryLineDTO;
+import com.groceteria.entity.Item;
+import com.groceteria.exception.BadRequestException;
+import com.groceteria.exception.ResourceNotFoundException;
+import com.groceteria.repository.ItemRepository;
+
+/**
+ * Logic shared by the database and write-behind cart service implementations.
+ */
+final class CartServiceSupport {
+
+    private CartServiceSupport() {
+    }
+
+    /**
+     * Validate a bulk request and load every item it names with one query.
+     *
+     * @return the items by item ID
+     */
+    static Map<Long, Item> resolveItems(ItemRepository itemRepository, List<CartLineOperationDTO> operations,
+            int maxOperations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new BadRequestException("At least one cart operation is required", "EMPTY_CART_OPERATIONS");
+        }
+        if (operations.size() > maxOperations) {
+            throw new BadRequestException("At most " + maxOperations + " cart operations are allowed per request",
+                "TOO_MANY_CART_OPERATIONS");
+        }
+        Set<Long> itemIds = new LinkedHashSet<>();
+        for (CartLineOperationDTO operation : operations) {
+            if (operation.getAction() != CartLineOperationDTO.Action.REMOVE && operation.getQuantity() == null) {
+                throw new BadRequestException("Quantity is required to " + operation.getAction() + " item "
+                    + operation.getItemId(), "MISSING_QUANTITY");
+            }
+            itemIds.add(operation.getItemId());
+        }
+
+        Map<Long, Item> items = new HashMap<>();
+        for (Item item : itemRepository.findAllById(itemIds)) {
+            items.put(item.getItemId(), item);
+        }
+        for (Long itemId : itemIds) {
+            if (!items.containsKey(itemId)) {
+                throw new ResourceNotFoundException("Item", "Id", itemId);
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Total up the summary lines of a user's cart.
+     */
+    static CartSummaryDTO summarize(Integer userId, List<CartSummaryLineDTO> lines) {
+        long totalQuantity = 0;
+        double grandTotal = 0;
+        boolean priceChanged = false;
+        for (CartSummaryLineDTO line : lines) {
+            totalQuantity += line.getQuantity();
+            grandTotal += line.getLineTotal();
+            priceChanged |= line.isPriceChanged();
+        }
+        return CartSummaryDTO.builder()
+            .userId(userId)
+            .lines(lines)
+            .lineCount(lines.size())
+            .totalQuantity(totalQuantity)
+            .grandTotal(grandTotal)
+            .priceChanged(priceChanged)
+            .build();
+    }
+}
@@ -0,0 +1,157 @@
+package com.groceteria.serviceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.groceteria.dto.ItemDTO;
+import com.groceteria.dto.StockLineDTO;
+import com.groceteria.dto.StockReservationDTO;
+import com.groceteria.entity.Item;
+import com.groceteria.event.ItemChangedEvent;
+import com.groceteria.repository.ItemRepository;
+import com.groceteria.service.InventoryService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Service implementation for Inventory operations.
+ * Stock is decremented with a conditional UPDATE so concurrent checkouts can never
+ * oversell or lose updates, and all lines are sent in one JDBC batch. Lines are applied
+ * in item ID order so concurrent multi-line reservations lock rows in the same order.
+ * A reservation runs in one transaction, joining the checkout's when there is one, and
+ * is rolled back when any line lacks stock.
+ * Hibernate does not see these updates, so the touched items and the category query
+ * results are evicted from the second-level cache, and once the change has committed an
+ * {@link ItemChangedEvent} is published per item so catalog pages, the search index and
+ * suggestion weights pick up the new stock.
+ */
+@Service
+public class InventoryServiceImpl implements InventoryService {
+    
+    private static final String RESERVE_SQL =
+        "UPDATE items SET quantity = quantity - ? WHERE item_id = ? AND quantity >= ?";
+    
+    private static final String RELEASE_SQL =
+        "UPDATE items SET quantity = quantity + ? WHERE item_id = ?";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private ItemRepository itemRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    public StockReservationDTO reserve(List<StockLineDTO> lines) {
+        List<Map.Entry<Long, Long>> merged = new ArrayList<>(mergeLines(lines).entrySet());
+        if (merged.isEmpty()) {
+            return StockReservationDTO.builder().reserved(true).failedItemIds(new ArrayList<>()).build();
+        }
+        int[] updated = jdbcTemplate.batchUpdate(RESERVE_SQL, merged, merged.size(), (ps, line) -> {
+            ps.setLong(1, line.getValue());
+            ps.setLong(2, line.getKey());
+            ps.setLong(3, line.getValue());
+        })[0];
+        stockChanged(merged, -1);
+        
+        List<Long> failedItemIds = new ArrayList<>();
+        for (int i = 0; i < merged.size(); i++) {
+            if (updated[i] == 0) {
+                failedItemIds.add(merged.get(i).getKey());
+            }
+        }
+        
+        // All or nothing: undo the lines that were taken if any line could not be reserved
+        if (!failedItemIds.isEmpty()) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        }
+        return StockReservationDTO.builder()
+            .reserved(failedItemIds.isEmpty())
+            .failedItemIds(failedItemIds)
+            .build();
+    }
+
+    @Override
+    public void release(List<StockLineDTO> lines) {
+        List<Map.Entry<Long, Long>> merged = new ArrayList<>(mergeLines(lines).entrySet());
+        if (merged.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(RELEASE_SQL, merged, merged.size(), (ps, line) -> {
+            ps.setLong(1, line.getValue());
+            ps.setLong(2, line.getKey());
+        });
+        stockChanged(merged, 1);
+    }
+    
+    // Evict now, and again after commit so a read racing the open transaction cannot
+    // leave the pre-update row cached; events go out only once the change has committed
+    private void stockChanged(List<Map.Entry<Long, Long>> lines, long direction) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        Runnable evict = () -> {
+            lines.forEach(line -> cache.evictEntityData(Item.class, line.getKey()));
+            cache.evictQueryRegion(ItemRepository.CATEGORY_QUERY_REGION);
+        };
+        evict.run();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publishItemChanges(lines, direction);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                evict.run();
+                if (status == STATUS_COMMITTED) {
+                    publishItemChanges(lines, direction);
+                }
+            }
+        });
+    }
+    
+    // Only the quantity changed, so the before state is the current row with the delta undone
+    private void publishItemChanges(List<Map.Entry<Long, Long>> lines, long direction) {
+        Map<Long, Long> deltas = new TreeMap<>();
+        lines.forEach(line -> deltas.put(line.getKey(), line.getValue() * direction));
+        for (ItemDTO after : itemRepository.findByItemIdInAsDTO(deltas.keySet())) {
+            ItemDTO before = ItemDTO.builder()
+                .itemId(after.getItemId())
+                .itemName(after.getItemName())
+                .image(after.getImage())
+                .description(after.getDescription())
+                .mrpPrice(after.getMrpPrice())
+                .quantity(after.getQuantity() - deltas.get(after.getItemId()))
+                .category(after.getCategory())
+                .vendorId(after.getVendorId())
+                .build();
+            eventPublisher.publishEvent(ItemChangedEvent.updated(before, after));
+        }
+    }
+    
+    // Sum quantities per item, ordered by item ID
+    private Map<Long, Long> mergeLines(List<StockLineDTO> lines) {
+        Map<Long, Long> merged = new TreeMap<>();
+        for (StockLineDTO line : lines) {
+            merged.merge(line.getItemId(), line.getQuantity(), Long::sum);
+        }
+        return merged;
+    }
+}
@@ -1,22 +1,42 @@
 package com.groceteria.serviceImpl;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
+import com.groceteria.cache.CatalogCache;
+import com.groceteria.cache.CatalogCache.CatalogKey;
+import com.groceteria.cache.ItemCountRegistry;
+import com.groceteria.dto.CacheStatsDTO;
+import com.groceteria.dto.ItemCursorPagingDTO;
 import com.groceteria.dto.ItemDTO;
 import com.groceteria.dto.ItemPagingDTO;
+import com.groceteria.dto.ItemSuggestionDTO;
 import com.groceteria.entity.Category;
 import com.groceteria.entity.Item;
 import com.groceteria.entity.User;
+import com.groceteria.event.ItemChangedEvent;
+import com.groceteria.exception.BadRequestException;
+import com.groceteria.exception.ExceptionUtils;
 import com.groceteria.exception.ResourceNotFoundException;
 import com.groceteria.repository.ItemRepository;
+import com.groceteria.search.ItemSearchIndex;
+import com.groceteria.search.ItemSuggestionTrie;
 import com.groceteria.service.ItemService;
 import com.groceteria.service.UserService;
 
@@ -27,11 +47,31 @@ import com.groceteria.service.UserService;
 @Service
 public class ItemServiceImpl implements ItemService {
     
+    private static final String CURSOR_PREFIX = "v1:";
+    
     @Autowired
     private ItemRepository itemRepository;
     
     @Autowired
     private UserService userService;
+    
+    @Autowired
+    private CatalogCache catalogCache;
+    
+    @Autowired
+    private ItemCountRegistry itemCountRegistry;
+    
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+    
+    @Autowired
+    private ItemSuggestionTrie itemSuggestionTrie;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Value("${groceteria.paging.max-page-size:100}")
+    private int maxPageSize;
 
     @Override
     public ItemDTO addItem(ItemDTO itemDTO, Integer vendorId) {
@@ -44,14 +84,17 @@ public class ItemServiceImpl implements ItemService {
         Item item = mapToEntity(itemDTO);
         item.setVendor(vendor);
         
-        Item savedItem = itemRepository.save(item);
-        return mapToDTO(savedItem);
+        return itemCountRegistry.trackWrite(() -> {
+            Item savedItem = itemRepository.save(item);
+            ItemDTO savedDTO = mapToDTO(savedItem);
+            eventPublisher.publishEvent(ItemChangedEvent.added(savedDTO));
+            return savedDTO;
+        });
     }
 
     @Override
     public List<ItemDTO> getAllItems() {
-        List<Item> items = itemRepository.findAll();
-        return items.stream().map(this::mapToDTO).collect(Collectors.toList());
+        return itemRepository.findAllAsDTO();
     }
 
     @Override
@@ -65,16 +108,20 @@ public class ItemServiceImpl implements ItemService {
     public ItemDTO updateItemQuantity(Long itemId, Long availableQuantity) {
         Item existingItem = itemRepository.findById(itemId)
             .orElseThrow(() -> new ResourceNotFoundException("Item", "itemId", itemId));
+        ItemDTO before = mapToDTO(existingItem);
         
         existingItem.setQuantity(availableQuantity);
         Item updatedItem = itemRepository.save(existingItem);
-        return mapToDTO(updatedItem);
+        ItemDTO updatedDTO = mapToDTO(updatedItem);
+        eventPublisher.publishEvent(ItemChangedEvent.updated(before, updatedDTO));
+        return updatedDTO;
     }
 
     @Override
     public ItemDTO updateItem(ItemDTO itemDTO, Long itemId) {
         Item existingItem = itemRepository.findById(itemId)
             .orElseThrow(() -> new ResourceNotFoundException("Item", "itemId", itemId));
+        ItemDTO before = mapToDTO(existingItem);
         
         existingItem.setItemName(itemDTO.getItemName());
         existingItem.setMrpPrice(itemDTO.getMrpPrice());
@@ -83,74 +130,123 @@ public class ItemServiceImpl implements ItemService {
         existingItem.setQuantity(itemDTO.getQuantity());
         existingItem.setCategory(itemDTO.getCategory());
         
-        Item updatedItem = itemRepository.save(existingItem);
-        return mapToDTO(updatedItem);
+        return itemCountRegistry.trackWrite(() -> {
+            Item updatedItem = itemRepository.save(existingItem);
+            ItemDTO updatedDTO = mapToDTO(updatedItem);
+            eventPublisher.publishEvent(ItemChangedEvent.updated(before, updatedDTO));
+            return updatedDTO;
+        });
     }
 
     @Override
     public void deleteItem(Long itemId) {
         Item item = itemRepository.findById(itemId)
             .orElseThrow(() -> new ResourceNotFoundException("Item", "Id", itemId));
-        itemRepository.deleteById(itemId);
+        ItemDTO before = mapToDTO(item);
+        itemCountRegistry.trackWrite(() -> {
+            itemRepository.deleteById(itemId);
+            eventPublisher.publishEvent(ItemChangedEvent.deleted(before));
+            return null;
+        });
     }
 
     @Override
     public List<ItemDTO> findItemsByCategory(Category category) {
-        List<Item> items = itemRepository.findByCategory(category);
-        return items.stream().map(this::mapToDTO).collect(Collectors.toList());
+        return itemRepository.findByCategoryAsDTO(category);
     }
 
     @Override
     public ItemPagingDTO findItemsByCategory(Category category, Integer pageNo, Integer pageSize) {
-        Pageable paging = PageRequest.of(pageNo, pageSize);
-        Page<Item> itemResult = itemRepository.findByCategory(category, paging);
-        
-        ItemPagingDTO ir = new ItemPagingDTO();
-        ir.setTotalItems(itemResult.getTotalElements());
-        
-        if (itemResult.hasContent()) {
-            List<ItemDTO> itemDTOs = itemResult.getContent().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
-            ir.setItems(itemDTOs);
-        } else {
-            ir.setItems(new ArrayList<>());
-        }
-        return ir;
+        return findItemsByCategory(category, pageNo, pageSize, true);
+    }
+    
+    @Override
+    public ItemPagingDTO findItemsByCategory(Category category, Integer pageNo, Integer pageSize, boolean exactCount) {
+        checkPage(pageNo, pageSize);
+        ItemPagingDTO page = catalogCache.get(CatalogKey.category(category, pageNo, pageSize),
+            () -> toSlicePage(itemRepository.findSliceByCategory(category, PageRequest.of(pageNo, pageSize))));
+        return withTotal(page, exactCount ? itemCountRegistry.getCount(category) : -1);
     }
 
     @Override
     public ItemPagingDTO getAllItems(Integer pageNo, Integer pageSize) {
-        Pageable paging = PageRequest.of(pageNo, pageSize);
-        Page<Item> itemResult = itemRepository.findAll(paging);
-        
-        ItemPagingDTO ir = new ItemPagingDTO();
-        ir.setTotalItems(itemResult.getTotalElements());
-        
-        if (itemResult.hasContent()) {
-            List<ItemDTO> itemDTOs = itemResult.getContent().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
-            ir.setItems(itemDTOs);
-        } else {
-            ir.setItems(new ArrayList<>());
-        }
-        return ir;
+        return getAllItems(pageNo, pageSize, true);
+    }
+    
+    @Override
+    public ItemPagingDTO getAllItems(Integer pageNo, Integer pageSize, boolean exactCount) {
+        checkPage(pageNo, pageSize);
+        ItemPagingDTO page = catalogCache.get(CatalogKey.all(pageNo, pageSize),
+            () -> toSlicePage(itemRepository.findSliceBy(PageRequest.of(pageNo, pageSize))));
+        return withTotal(page, exactCount ? itemCountRegistry.getTotalCount() : -1);
+    }
+
+    @Override
+    public ItemCursorPagingDTO getAllItemsByCursor(String cursor, Integer pageSize) {
+        checkPageSize(pageSize);
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<Item> items = itemRepository.findByItemIdGreaterThanOrderByItemIdAsc(
+            decodeCursor(cursor), Limit.of(pageSize + 1));
+        return toCursorPage(items, pageSize);
+    }
+    
+    @Override
+    public ItemCursorPagingDTO findItemsByCategoryByCursor(Category category, String cursor, Integer pageSize) {
+        checkPageSize(pageSize);
+        List<Item> items = itemRepository.findByCategoryAndItemIdGreaterThanOrderByItemIdAsc(
+            category, decodeCursor(cursor), Limit.of(pageSize + 1));
+        return toCursorPage(items, pageSize);
     }
 
     @Override
     public List<ItemDTO> findItemsByMrpPrice(Double mrpPrice) {
-        List<Item> items = itemRepository.findByMrpPrice(mrpPrice);
-        return items.stream().map(this::mapToDTO).collect(Collectors.toList());
+        return itemRepository.findByMrpPriceAsDTO(mrpPrice);
     }
 
     @Override
     public ItemPagingDTO findItemsByName(String keyword, Integer pageNo, Integer pageSize) {
+        checkPage(pageNo, pageSize);
+        if (!itemSearchIndex.isReady()) {
+            // Not cached: the database fallback would keep being served after the index is ready
+            return loadItemsByNameFromDatabase(keyword, pageNo, pageSize);
+        }
+        return catalogCache.get(CatalogKey.keyword(keyword, pageNo, pageSize),
+            () -> loadItemsByName(keyword, pageNo, pageSize));
+    }
+    
+    private ItemPagingDTO loadItemsByName(String keyword, Integer pageNo, Integer pageSize) {
+        if (ItemSearchIndex.tokenize(keyword).isEmpty()) {
+            return loadItemsByNameFromDatabase(keyword, pageNo, pageSize);
+        }
+        
+        List<Long> rankedIds = itemSearchIndex.search(keyword);
+        int from = (int) Math.min((long) pageNo * pageSize, rankedIds.size());
+        int to = Math.min(from + pageSize, rankedIds.size());
+        List<Long> pageIds = rankedIds.subList(from, to);
+        
+        // Fetch the page in one query, then restore the ranking order
+        Map<Long, Item> itemsById = itemRepository.findAllById(pageIds).stream()
+            .collect(Collectors.toMap(Item::getItemId, Function.identity()));
+        List<ItemDTO> itemDTOs = pageIds.stream()
+            .map(itemsById::get)
+            .filter(Objects::nonNull)
+            .map(this::mapToDTO)
+            .collect(Collectors.toList());
+        
+        return ItemPagingDTO.builder()
+            .items(itemDTOs)
+            .totalItems(rankedIds.size())
+            .hasNext(to < rankedIds.size())
+            .build();
+    }
+    
+    private ItemPagingDTO loadItemsByNameFromDatabase(String keyword, Integer pageNo, Integer pageSize) {
         Pageable paging = PageRequest.of(pageNo, pageSize);
         Page<Item> itemResult = itemRepository.findByItemNameContainingIgnoreCase(keyword, paging);
         
         ItemPagingDTO ir = new ItemPagingDTO();
         ir.setTotalItems(itemResult.getTotalElements());
+        ir.setHasNext(itemResult.hasNext());
         
         if (itemResult.hasContent()) {
             List<ItemDTO> itemDTOs = itemResult.getContent().stream()
@@ -163,14 +259,19 @@ public class ItemServiceImpl implements ItemService {
         return ir;
     }
     
+    @Override
+    public List<ItemSuggestionDTO> suggestItems(String prefix, Integer limit) {
+        return itemSuggestionTrie.suggest(prefix, limit);
+    }
+    
     @Override
     public List<ItemDTO> getItemsByVendor(Integer vendorId) {
-        List<Item> items = itemRepository.findByVendorId(vendorId);
-        return items.stream().map(this::mapToDTO).collect(Collectors.toList());
+        return itemRepository.findByVendorIdAsDTO(vendorId);
     }
     
     @Override
     public ItemPagingDTO getItemsByVendor(Integer vendorId, Integer pageNo, Integer pageSize) {
+        checkPage(pageNo, pageSize);
         User vendor = userService.getUserEntityById(vendorId);
         Pageable paging = PageRequest.of(pageNo, pageSize);
         Page<Item> itemResult = itemRepository.findByVendor(vendor, paging);
@@ -191,24 +292,22 @@ public class ItemServiceImpl implements ItemService {
     
     @Override
     public List<ItemDTO> findItemsByPriceRange(Double minPrice, Double maxPrice) {
-        List<Item> items = itemRepository.findByPriceRange(minPrice, maxPrice);
-        return items.stream().map(this::mapToDTO).collect(Collectors.toList());
+        return itemRepository.findByPriceRangeAsDTO(minPrice, maxPrice);
     }
     
     @Override
     public List<ItemDTO> findItemsByCategoryAndPriceRange(Category category, Double minPrice, Double maxPrice) {
-        List<Item> items = itemRepository.findByCategoryAndPriceRange(category, minPrice, maxPrice);
-        return items.stream().map(this::mapToDTO).collect(Collectors.toList());
+        return itemRepository.findByCategoryAndPriceRangeAsDTO(category, minPrice, maxPrice);
     }
     
     @Override
     public List<ItemDTO> getAvailableItems() {
-        List<Item> items = itemRepository.findByQuantityGreaterThan(0L);
-        return items.stream().map(this::mapToDTO).collect(Collectors.toList());
+        return itemRepository.findByQuantityGreaterThanAsDTO(0L);
     }
     
     @Override
     public ItemPagingDTO getAvailableItems(Integer pageNo, Integer pageSize) {
+        checkPage(pageNo, pageSize);
         Pageable paging = PageRequest.of(pageNo, pageSize);
         Page<Item> itemResult = itemRepository.findByQuantityGreaterThan(0L, paging);
         
@@ -226,6 +325,77 @@ public class ItemServiceImpl implements ItemService {
         return ir;
     }
     
+    @Override
+    public CacheStatsDTO getCatalogCacheStats() {
+        return catalogCache.getStats();
+    }
+    
+    // Helper methods for count-free paging
+    private ItemPagingDTO toSlicePage(Slice<Item> itemResult) {
+        List<ItemDTO> itemDTOs = itemResult.getContent().stream()
+            .map(this::mapToDTO)
+            .collect(Collectors.toList());
+        return ItemPagingDTO.builder()
+            .items(itemDTOs)
+            .hasNext(itemResult.hasNext())
+            .build();
+    }
+    
+    // Cached pages are shared, so the total is set on a copy
+    private ItemPagingDTO withTotal(ItemPagingDTO page, long totalItems) {
+        return ItemPagingDTO.builder()
+            .items(page.getItems())
+            .hasNext(page.isHasNext())
+            .totalItems(totalItems)
+            .build();
+    }
+    
+    // Helper methods for cursor pagination
+    private ItemCursorPagingDTO toCursorPage(List<Item> items, Integer pageSize) {
+        boolean hasMore = items.size() > pageSize;
+        List<ItemDTO> itemDTOs = items.stream()
+            .limit(pageSize)
+            .map(this::mapToDTO)
+            .collect(Collectors.toList());
+        
+        String nextCursor = hasMore ? encodeCursor(itemDTOs.get(itemDTOs.size() - 1).getItemId()) : null;
+        return ItemCursorPagingDTO.builder()
+            .items(itemDTOs)
+            .nextCursor(nextCursor)
+            .hasMore(hasMore)
+            .build();
+    }
+    
+    private void checkPage(Integer pageNo, Integer pageSize) {
+        ExceptionUtils.throwIfBadRequest(pageNo < 0, "Page number must not be negative", "INVALID_PAGE");
+        checkPageSize(pageSize);
+    }
+    
+    private void checkPageSize(Integer pageSize) {
+        ExceptionUtils.throwIfBadRequest(pageSize < 1 || pageSize > maxPageSize,
+            "Page size must be between 1 and " + maxPageSize, "INVALID_PAGE_SIZE");
+    }
+    
+    private String encodeCursor(Long lastItemId) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((CURSOR_PREFIX + lastItemId).getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(CURSOR_PREFIX)) {
+                throw new BadRequestException("Invalid cursor", "INVALID_CURSOR");
+            }
+            return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor", "INVALID_CURSOR");
+        }
+    }
+    
     // Helper methods for entity-DTO mapping
     private Item mapToEntity(ItemDTO itemDTO) {
         return Item.builder()
@@ -1,6 +1,7 @@
 package com.groceteria.serviceImpl;
 
 import java.sql.Date;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -12,11 +13,16 @@ import com.groceteria.entity.Cart;
 import com.groceteria.entity.Item;
 import com.groceteria.entity.Order;
 import com.groceteria.entity.User;
+import com.groceteria.dto.StockLineDTO;
+import com.groceteria.dto.StockReservationDTO;
+import com.groceteria.exception.BadRequestException;
+import com.groceteria.exception.ConflictException;
 import com.groceteria.exception.ResourceNotFoundException;
 import com.groceteria.repository.CartRepository;
 import com.groceteria.repository.ItemRepository;
 import com.groceteria.repository.OrderRepository;
 import com.groceteria.service.CartService;
+import com.groceteria.service.InventoryService;
 import com.groceteria.service.ItemService;
 import com.groceteria.service.OrderService;
 import com.groceteria.service.UserService;
@@ -48,6 +54,9 @@ public class OrderServiceImpl implements OrderService {
     
     @Autowired
     private ItemRepository itemRepository;
+    
+    @Autowired
+    private InventoryService inventoryService;
 
     public OrderServiceImpl(OrderRepository orderRepository, ItemService itemService, CartService cartService,
             UserService userService, CartRepository cartRepository) {
@@ -72,6 +81,46 @@ public class OrderServiceImpl implements OrderService {
         return mapToDTO(savedOrder);
     }
 
+    @Override
+    public OrderDTO checkout(Integer userId) {
+        cartService.flushCart(userId);
+        List<Cart> cartItems = cartRepository.findByUserIdWithItem(userId);
+        if (cartItems.isEmpty()) {
+            throw new BadRequestException("Cart is empty for user " + userId, "EMPTY_CART");
+        }
+        
+        // Price every line at the current item price rather than trusting the client
+        double totalPrice = 0;
+        List<Item> items = new ArrayList<>(cartItems.size());
+        List<StockLineDTO> stockLines = new ArrayList<>(cartItems.size());
+        for (Cart cart : cartItems) {
+            Item item = cart.getItem();
+            totalPrice += item.getMrpPrice() * cart.getQuantity();
+            items.add(item);
+            stockLines.add(new StockLineDTO(item.getItemId(), cart.getQuantity()));
+        }
+        
+        StockReservationDTO reservation = inventoryService.reserve(stockLines);
+        if (!reservation.isReserved()) {
+            throw new ConflictException("Insufficient stock for items " + reservation.getFailedItemIds());
+        }
+        
+        Order order = Order.builder()
+            .user(cartItems.get(0).getUser())
+            .items(items)
+            .totalPrice(totalPrice)
+            .orderDate(new Date(System.currentTimeMillis()))
+            .orderStatus("PENDING")
+            .paymentStatus("PENDING")
+            .build();
+        Order savedOrder = orderRepository.save(order);
+        cartService.clearUserCart(userId);
+        
+        OrderDTO orderDTO = mapToDTO(savedOrder);
+        orderDTO.setItemIds(items.stream().map(Item::getItemId).collect(Collectors.toList()));
+        return orderDTO;
+    }
+
     @Override
     public OrderDTO getOrderById(Long orderId) {
         Order order = orderRepository.findById(orderId)
@@ -94,8 +143,7 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     public List<OrderDTO> getOrdersByUserId(Integer userId) {
-        List<Order> orders = orderRepository.findByUserId(userId);
-        return orders.stream().map(this::mapToDTO).collect(Collectors.toList());
+        return orderRepository.findByUserIdAsDTO(userId);
     }
 
     @Override
@@ -107,27 +155,24 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     public List<OrderDTO> getAllOrders() {
-        List<Order> orders = orderRepository.findAll();
-        return orders.stream().map(this::mapToDTO).collect(Collectors.toList());
+        return orderRepository.findAllAsDTO();
     }
     
     @Override
     public List<OrderDTO> getOrdersByStatus(String orderStatus) {
-        List<Order> orders = orderRepository.findByOrderStatus(orderStatus);
-        return orders.stream().map(this::mapToDTO).collect(Collectors.toList());
+        return orderRepository.findByOrderStatusAsDTO(orderStatus);
     }
     
     @Override
     public List<OrderDTO> getOrdersByPaymentStatus(String paymentStatus) {
-        List<Order> orders = orderRepository.findByPaymentStatus(paymentStatus);
-        return orders.stream().map(this::mapToDTO).collect(Collectors.toList());
+        return orderRepository.findByPaymentStatusAsDTO(paymentStatus);
     }
     
     @Override
     public List<OrderDTO> getOrdersByUserAndStatus(Integer userId, String orderStatus) {
-        User user = userService.getUserEntityById(userId);
-        List<Order> orders = orderRepository.findByUserAndOrderStatus(user, orderStatus);
-        return orders.stream().map(this::mapToDTO).collect(Collectors.toList());
+        // Resolve the user first so an unknown ID still yields 404
+        userService.getUserEntityById(userId);
+        return orderRepository.findByUserIdAndOrderStatusAsDTO(userId, orderStatus);
     }
     
     @Override
@@ -152,8 +197,7 @@ public class OrderServiceImpl implements OrderService {
     
     @Override
     public List<OrderDTO> getOrdersByTotalPriceGreaterThan(Double minPrice) {
-        List<Order> orders = orderRepository.findByTotalPriceGreaterThan(minPrice);
-        return orders.stream().map(this::mapToDTO).collect(Collectors.toList());
+        return orderRepository.findByTotalPriceGreaterThanAsDTO(minPrice);
     }
     
     // Helper methods for entity-DTO mapping
@@ -0,0 +1,111 @@
+package com.groceteria.serviceImpl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.groceteria.dto.PaymentDTO;
+import com.groceteria.entity.Order;
+import com.groceteria.entity.Payment;
+import com.groceteria.repository.OrderRepository;
+import com.groceteria.repository.PaymentRepository;
+import com.groceteria.service.PaymentGateway;
+import com.groceteria.service.PaymentGatewayResult;
+
+/**
+ * Drives PENDING payments through the payment gateway on the payment executor and
+ * records the outcome on both the payment and its order.
+ */
+@Component
+public class PaymentProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentProcessor.class);
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PaymentGateway paymentGateway;
+
+    @Autowired
+    @Qualifier("paymentExecutor")
+    private ThreadPoolTaskExecutor paymentExecutor;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Queue a PENDING payment for processing.
+     *
+     * @throws TaskRejectedException if the payment queue is full
+     */
+    public void submit(PaymentDTO paymentDTO) {
+        paymentExecutor.execute(() -> process(paymentDTO));
+    }
+
+    /**
+     * Resume payments left PENDING by a previous shutdown.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingPayments() {
+        for (Payment payment : paymentRepository.findByStatus(Payment.STATUS_PENDING)) {
+            try {
+                submit(PaymentDTO.builder()
+                    .paymentId(payment.getPaymentId())
+                    .orderId(payment.getOrderId())
+                    .totalPrice(payment.getTotalPrice())
+                    .paidAmount(payment.getPaidAmount())
+                    .paidDate(payment.getPaidDate())
+                    .status(payment.getStatus())
+                    .build());
+            } catch (TaskRejectedException e) {
+                log.warn("Payment queue full while resuming pending payments; remaining payments stay PENDING");
+                return;
+            }
+        }
+    }
+
+    private void process(PaymentDTO paymentDTO) {
+        PaymentGatewayResult result;
+        try {
+            result = paymentGateway.charge(paymentDTO);
+        } catch (RuntimeException e) {
+            log.warn("Payment gateway failed for payment {}", paymentDTO.getPaymentId(), e);
+            result = PaymentGatewayResult.error(e.getMessage());
+        }
+        complete(paymentDTO.getPaymentId(), result);
+    }
+
+    private void complete(Long paymentId, PaymentGatewayResult result) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Payment payment = paymentRepository.findById(paymentId).orElse(null);
+            if (payment == null || !Payment.STATUS_PENDING.equals(payment.getStatus())) {
+                return;
+            }
+            Order order = orderRepository.findById(payment.getOrderId()).orElse(null);
+            if (result.isApproved()) {
+                payment.setStatus(Payment.STATUS_PAID);
+                if (order != null) {
+                    order.setPaymentStatus("PAID");
+                    order.setOrderStatus("CONFIRMED");
+                }
+            } else {
+                payment.setStatus(Payment.STATUS_FAILED);
+                if (order != null) {
+                    order.setPaymentStatus("FAILED");
+                    order.setOrderStatus("PENDING");
+                }
+            }
+        });
+    }
+}
@@ -5,13 +5,18 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import com.groceteria.dto.PaymentDTO;
 import com.groceteria.entity.Order;
 import com.groceteria.entity.Payment;
 import com.groceteria.entity.User;
+import com.groceteria.exception.ConflictException;
+import com.groceteria.exception.ExceptionUtils;
 import com.groceteria.exception.ResourceNotFoundException;
+import com.groceteria.exception.ServiceUnavailableException;
 import com.groceteria.repository.OrderRepository;
 import com.groceteria.repository.PaymentRepository;
 import com.groceteria.service.OrderService;
@@ -20,7 +25,7 @@ import com.groceteria.service.UserService;
 
 /**
  * Service implementation for Payment operations.
- * Provides payment management functionality with placeholder for future payment gateway integration.
+ * Payments are recorded as PENDING and charged asynchronously by the {@link PaymentProcessor}.
  */
 @Service
 public class PaymentServiceImpl implements PaymentService {
@@ -37,6 +42,9 @@ public class PaymentServiceImpl implements PaymentService {
     @Autowired
     private OrderService orderService;
     
+    @Autowired
+    private PaymentProcessor paymentProcessor;
+    
     public PaymentServiceImpl(PaymentRepository paymentRepository, OrderRepository orderRepository,
             UserService userService, OrderService orderService) {
         this.paymentRepository = paymentRepository;
@@ -52,34 +60,46 @@ public class PaymentServiceImpl implements PaymentService {
         
         User user = userService.getUserEntityById(userId);
         
-        Payment payment = mapToEntity(paymentDTO);
+        // A failed payment may be retried; any other existing payment blocks a new one.
+        // Claiming the retry is a conditional update, so of two concurrent retries only one
+        // gets to charge the gateway.
+        Payment payment = paymentRepository.findFirstByOrderId(orderId).orElse(null);
+        if (payment == null) {
+            payment = mapToEntity(paymentDTO);
+        } else if (paymentRepository.claimFailedPayment(payment.getPaymentId()) == 0) {
+            throw new ConflictException("Payment already exists for order " + orderId);
+        }
         payment.setOrderId(orderId);
         payment.setTotalPrice(order.getTotalPrice());
         payment.setPaidDate(LocalDate.now());
         payment.setPaidAmount(order.getTotalPrice());
         payment.setUser(user);
+        payment.setStatus(Payment.STATUS_PENDING);
         
-        // Placeholder payment processing - does nothing for now
-        boolean paymentProcessed = processPayment(paymentDTO);
-        
-        if (paymentProcessed) {
-            order.setPaymentStatus("PAID");
-            order.setOrderStatus("CONFIRMED");
-        } else {
-            order.setPaymentStatus("PENDING");
-            order.setOrderStatus("PENDING");
+        Payment savedPayment;
+        try {
+            savedPayment = paymentRepository.save(payment);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent first payment for the same order won the unique order_id key
+            throw new ConflictException("Payment already exists for order " + orderId);
         }
-        
+        order.setPaymentStatus("PENDING");
         orderRepository.save(order);
-        Payment savedPayment = paymentRepository.save(payment);
+        PaymentDTO savedDTO = mapToDTO(savedPayment);
         
-        return mapToDTO(savedPayment);
+        try {
+            paymentProcessor.submit(savedDTO);
+        } catch (TaskRejectedException e) {
+            savedPayment.setStatus(Payment.STATUS_FAILED);
+            paymentRepository.save(savedPayment);
+            throw new ServiceUnavailableException("Payment processing is at capacity, please retry shortly");
+        }
+        return savedDTO;
     }
 
     @Override
     public List<PaymentDTO> getAllPayments() {
-        List<Payment> payments = paymentRepository.findAll();
-        return payments.stream().map(this::mapToDTO).collect(Collectors.toList());
+        return paymentRepository.findAllAsDTO();
     }
 
     @Override
@@ -98,8 +118,7 @@ public class PaymentServiceImpl implements PaymentService {
 
     @Override
     public List<PaymentDTO> getPaymentsByUserId(Integer userId) {
-        List<Payment> payments = paymentRepository.findByUserId(userId);
-        return payments.stream().map(this::mapToDTO).collect(Collectors.toList());
+        return paymentRepository.findByUserIdAsDTO(userId);
     }
     
     @Override
@@ -111,35 +130,21 @@ public class PaymentServiceImpl implements PaymentService {
     
     @Override
     public List<PaymentDTO> getPaymentsByAmountRange(Double minAmount, Double maxAmount) {
-        List<Payment> payments = paymentRepository.findByPaidAmountBetween(minAmount, maxAmount);
-        return payments.stream().map(this::mapToDTO).collect(Collectors.toList());
+        return paymentRepository.findByPaidAmountBetweenAsDTO(minAmount, maxAmount);
     }
     
     @Override
     public List<PaymentDTO> getPaymentsByAmountGreaterThan(Double amount) {
-        List<Payment> payments = paymentRepository.findByPaidAmountGreaterThan(amount);
-        return payments.stream().map(this::mapToDTO).collect(Collectors.toList());
+        return paymentRepository.findByPaidAmountGreaterThanAsDTO(amount);
     }
     
     @Override
-    public boolean processPayment(PaymentDTO paymentDTO) {
-        // TODO: Implement actual payment gateway integration
-        // For now, this is a placeholder that always returns true
-        // In the future, this will integrate with payment gateways like Stripe, PayPal, etc.
-        
-        System.out.println("Payment processing placeholder - no actual payment gateway integration yet");
-        System.out.println("Payment details: " + paymentDTO.toString());
-        
-        // Simulate payment processing delay
-        try {
-            Thread.sleep(1000); // Simulate 1 second processing time
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-        
-        // For now, always return true (payment successful)
-        // In real implementation, this would depend on payment gateway response
-        return true;
+    public PaymentDTO processPayment(PaymentDTO paymentDTO) {
+        ExceptionUtils.throwIfBadRequest(paymentDTO.getPaymentId() == null, "Payment ID is required");
+        Payment payment = paymentRepository.findById(paymentDTO.getPaymentId())
+            .orElseThrow(() -> new ResourceNotFoundException("Payment", "Id", paymentDTO.getPaymentId()));
+        // Same path as a retry through addPayment: only a FAILED payment is claimed and queued again
+        return addPayment(paymentDTO, payment.getOrderId(), payment.getUser().getUserId());
     }
     
     // Helper methods for entity-DTO mapping
@@ -161,6 +166,7 @@ public class PaymentServiceImpl implements PaymentService {
             .paidDate(payment.getPaidDate())
             .paidAmount(payment.getPaidAmount())
             .userId(payment.getUser().getUserId())
+            .status(payment.getStatus())
             .build();
     }
 }
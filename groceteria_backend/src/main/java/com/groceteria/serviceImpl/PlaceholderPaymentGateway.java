@@ -0,0 +1,30 @@
+package com.groceteria.serviceImpl;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.groceteria.dto.PaymentDTO;
+import com.groceteria.service.PaymentGateway;
+import com.groceteria.service.PaymentGatewayResult;
+
+/**
+ * Placeholder payment gateway.
+ * Approves every payment after a fixed one second delay until a real gateway is integrated.
+ */
+@Component
+@ConditionalOnProperty(name = "groceteria.payment.gateway", havingValue = "placeholder", matchIfMissing = true)
+public class PlaceholderPaymentGateway implements PaymentGateway {
+
+    private static final long PROCESSING_DELAY_MILLIS = 1000;
+
+    @Override
+    public PaymentGatewayResult charge(PaymentDTO paymentDTO) {
+        try {
+            Thread.sleep(PROCESSING_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return PaymentGatewayResult.error("Payment processing interrupted");
+        }
+        return PaymentGatewayResult.approved();
+    }
+}
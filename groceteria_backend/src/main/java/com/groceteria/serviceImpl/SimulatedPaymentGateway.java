@@ -0,0 +1,99 @@
+package com.groceteria.serviceImpl;
+
+import java.util.Random;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.groceteria.dto.PaymentDTO;
+import com.groceteria.service.PaymentGateway;
+import com.groceteria.service.PaymentGatewayResult;
+
+/**
+ * Local payment gateway simulator for load testing without outside services.
+ * Latency follows a log-normal distribution fitted to the configured p50 and p99;
+ * calls slower than the timeout fail as TIMEOUT after waiting the timeout. Declines
+ * and errors are injected at configurable rates, and a token bucket caps throughput,
+ * rejecting calls above the cap as a real gateway's rate limiter would.
+ */
+@Component
+@ConditionalOnProperty(name = "groceteria.payment.gateway", havingValue = "simulator")
+public class SimulatedPaymentGateway implements PaymentGateway {
+
+    // z-score of the 99th percentile of the standard normal distribution
+    private static final double Z_99 = 2.3263;
+
+    private final double mu;
+    private final double sigma;
+    private final long timeoutMillis;
+    private final double declineRate;
+    private final double errorRate;
+    private final double maxPerSecond;
+    private final Random random;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    public SimulatedPaymentGateway(
+            @Value("${groceteria.payment.simulator.p50-millis:200}") long p50Millis,
+            @Value("${groceteria.payment.simulator.p99-millis:1500}") long p99Millis,
+            @Value("${groceteria.payment.simulator.timeout-millis:3000}") long timeoutMillis,
+            @Value("${groceteria.payment.simulator.decline-rate:0.02}") double declineRate,
+            @Value("${groceteria.payment.simulator.error-rate:0.01}") double errorRate,
+            @Value("${groceteria.payment.simulator.max-throughput-per-second:0}") double maxPerSecond,
+            @Value("${groceteria.payment.simulator.seed:0}") long seed) {
+        this.mu = Math.log(Math.max(1, p50Millis));
+        this.sigma = Math.max(0, Math.log(Math.max(p99Millis, p50Millis) / (double) Math.max(1, p50Millis)) / Z_99);
+        this.timeoutMillis = timeoutMillis;
+        this.declineRate = declineRate;
+        this.errorRate = errorRate;
+        this.maxPerSecond = maxPerSecond;
+        this.random = seed != 0 ? new Random(seed) : new Random();
+        this.tokens = maxPerSecond;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    @Override
+    public PaymentGatewayResult charge(PaymentDTO paymentDTO) {
+        if (!tryAcquire()) {
+            return PaymentGatewayResult.error("Gateway rate limit exceeded");
+        }
+
+        long latencyMillis = Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+        double outcome = random.nextDouble();
+        try {
+            if (latencyMillis > timeoutMillis) {
+                Thread.sleep(timeoutMillis);
+                return PaymentGatewayResult.timeout("Gateway did not respond within " + timeoutMillis + " ms");
+            }
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return PaymentGatewayResult.error("Payment processing interrupted");
+        }
+
+        if (outcome < errorRate) {
+            return PaymentGatewayResult.error("Simulated gateway error");
+        }
+        if (outcome < errorRate + declineRate) {
+            return PaymentGatewayResult.declined("Simulated card decline");
+        }
+        return PaymentGatewayResult.approved();
+    }
+
+    // Token bucket holding at most one second of throughput; a cap of 0 means unlimited
+    private synchronized boolean tryAcquire() {
+        if (maxPerSecond <= 0) {
+            return true;
+        }
+        long now = System.nanoTime();
+        tokens = Math.min(maxPerSecond, tokens + (now - lastRefillNanos) / 1_000_000_000.0 * maxPerSecond);
+        lastRefillNanos = now;
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+}
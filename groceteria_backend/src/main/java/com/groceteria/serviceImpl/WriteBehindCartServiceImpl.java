@@ -0,0 +1,136 @@
+package com.groceteria.serviceImpl;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.groceteria.cart.WriteBehindCartStore;
+import com.groceteria.dto.CartDTO;
+import com.groceteria.dto.CartLineOperationDTO;
+import com.groceteria.dto.CartSummaryDTO;
+import com.groceteria.entity.Item;
+import com.groceteria.entity.User;
+import com.groceteria.exception.ResourceNotFoundException;
+import com.groceteria.repository.CartRepository;
+import com.groceteria.repository.ItemRepository;
+import com.groceteria.service.CartService;
+import com.groceteria.service.UserService;
+
+/**
+ * Cart service backed by the in-memory {@link WriteBehindCartStore}.
+ * Reads and writes of a user's cart are served from memory; the carts table is
+ * updated in batches by the store and before checkout.
+ */
+@Service
+@ConditionalOnProperty(name = "groceteria.cart.store", havingValue = "write-behind")
+public class WriteBehindCartServiceImpl implements CartService {
+
+    @Autowired
+    private WriteBehindCartStore cartStore;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Value("${groceteria.cart.max-operations:500}")
+    private int maxOperations;
+
+    @Override
+    public CartDTO addToCart(CartDTO cartDTO, Long itemId, Integer userId) {
+        Item item = itemRepository.findById(itemId)
+            .orElseThrow(() -> new ResourceNotFoundException("Item", "Id", itemId));
+        userService.getUserEntityById(userId);
+        return cartStore.add(userId, itemId, cartDTO.getQuantity(), item.getMrpPrice());
+    }
+
+    @Override
+    public List<CartDTO> getAllCartItems() {
+        cartStore.flushAll();
+        return cartRepository.findAllAsDTO();
+    }
+
+    @Override
+    public CartDTO getCartById(Long cartId) {
+        return cartStore.find(cartId)
+            .orElseThrow(() -> new ResourceNotFoundException("Cart", "Id", cartId));
+    }
+
+    @Override
+    public CartDTO updateCart(CartDTO cartDTO, Long cartId) {
+        return cartStore.update(cartId, cartDTO.getQuantity(), cartDTO.getMrpPrice())
+            .orElseThrow(() -> new ResourceNotFoundException("Cart", "Id", cartId));
+    }
+
+    @Override
+    public void deleteCart(Long cartId) {
+        if (!cartStore.remove(cartId)) {
+            throw new ResourceNotFoundException("Cart", "Id", cartId);
+        }
+    }
+
+    @Override
+    public void deleteCartByUser(User user) {
+        cartStore.clear(user.getUserId());
+    }
+
+    @Override
+    public void deleteCartByUserId(Integer userId) {
+        cartStore.clear(userId);
+    }
+
+    @Override
+    public List<CartDTO> getCartByUser(User user) {
+        return cartStore.getCart(user.getUserId());
+    }
+
+    @Override
+    public List<CartDTO> getCartByUserId(Integer userId) {
+        return cartStore.getCart(userId);
+    }
+
+    @Override
+    public CartDTO updateCartQuantity(Long cartId, Long quantity) {
+        return cartStore.update(cartId, quantity, null)
+            .orElseThrow(() -> new ResourceNotFoundException("Cart", "Id", cartId));
+    }
+
+    @Override
+    public long getCartItemCountByUser(Integer userId) {
+        return cartStore.count(userId);
+    }
+
+    @Override
+    public void clearUserCart(Integer userId) {
+        cartStore.clear(userId);
+    }
+
+    @Override
+    public List<CartDTO> applyCartOperations(Integer userId, List<CartLineOperationDTO> operations) {
+        Map<Long, Item> items = CartServiceSupport.resolveItems(itemRepository, operations, maxOperations);
+        userService.getUserEntityById(userId);
+        Map<Long, Double> prices = new HashMap<>();
+        items.forEach((itemId, item) -> prices.put(itemId, item.getMrpPrice()));
+        return cartStore.apply(userId, operations, prices);
+    }
+
+    @Override
+    public CartSummaryDTO getCartSummary(Integer userId) {
+        cartStore.flush(userId);
+        return CartServiceSupport.summarize(userId, cartRepository.findSummaryLinesByUserId(userId));
+    }
+
+    @Override
+    public void flushCart(Integer userId) {
+        cartStore.flush(userId);
+    }
+}
@@ -0,0 +1,32 @@
+-- Groceteria: merge duplicate cart lines and add the unique (user_id, item_id) key
+--
+-- Run once against an existing database BEFORE starting the version that declares
+-- uk_carts_user_item. Concurrent adds could leave several rows for the same user and item;
+-- while they exist, spring.jpa.hibernate.ddl-auto=update cannot add the key and adding to
+-- such a cart fails. Fresh databases do not need this script.
+--
+-- Duplicates are folded into the oldest row (lowest cart_id): its quantity becomes the sum
+-- of all the rows, and the other rows are deleted.
+
+START TRANSACTION;
+
+UPDATE carts keeper
+JOIN (
+    SELECT user_id, item_id, MIN(cart_id) AS keep_id, SUM(quantity) AS total_quantity
+    FROM carts
+    GROUP BY user_id, item_id
+    HAVING COUNT(*) > 1
+) duplicates ON keeper.cart_id = duplicates.keep_id
+SET keeper.quantity = duplicates.total_quantity;
+
+DELETE extra
+FROM carts extra
+JOIN carts keeper
+    ON keeper.user_id = extra.user_id
+    AND keeper.item_id = extra.item_id
+    AND keeper.cart_id < extra.cart_id;
+
+COMMIT;
+
+-- Fails with "Duplicate key name" if the key already exists, in which case nothing is left to do
+ALTER TABLE carts ADD CONSTRAINT uk_carts_user_item UNIQUE (user_id, item_id);
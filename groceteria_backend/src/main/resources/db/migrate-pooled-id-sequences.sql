@@ -0,0 +1,14 @@
+-- Groceteria: migrate ID sequences from allocationSize = 1 to pooled allocation (allocationSize = 50)
+--
+-- Run once against an existing database BEFORE starting the application with pooled IDs.
+-- The pooled optimizer treats the stored value as the upper bound of the next block of
+-- 50 IDs, so each sequence is advanced by one block to keep new IDs above existing ones.
+-- Fresh databases do not need this script.
+--
+-- MySQL has no native sequences; Hibernate emulates each one with a single-row table.
+
+UPDATE user_id_seq    SET next_val = next_val + 50;
+UPDATE item_id_seq    SET next_val = next_val + 50;
+UPDATE cart_id_seq    SET next_val = next_val + 50;
+UPDATE order_id_seq   SET next_val = next_val + 50;
+UPDATE payment_id_seq SET next_val = next_val + 50;
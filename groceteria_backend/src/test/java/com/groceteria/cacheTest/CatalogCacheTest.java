@@ -0,0 +1,107 @@
+package com.groceteria.cacheTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.groceteria.cache.CatalogCache;
+import com.groceteria.cache.CatalogCache.CatalogKey;
+import com.groceteria.dto.ItemDTO;
+import com.groceteria.dto.ItemPagingDTO;
+import com.groceteria.entity.Category;
+import com.groceteria.event.ItemChangedEvent;
+
+public class CatalogCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private ItemPagingDTO load() {
+        loads.incrementAndGet();
+        return ItemPagingDTO.builder().items(List.of()).build();
+    }
+
+    @Test
+    public void secondLookupIsServedFromCacheTest() {
+        CatalogCache cache = new CatalogCache(10, 60);
+
+        cache.get(CatalogKey.all(0, 10), this::load);
+        cache.get(CatalogKey.all(0, 10), this::load);
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getStats().getHits());
+        assertEquals(1, cache.getStats().getMisses());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedEntryTest() {
+        CatalogCache cache = new CatalogCache(2, 60);
+
+        cache.get(CatalogKey.all(0, 10), this::load);
+        cache.get(CatalogKey.all(1, 10), this::load);
+        cache.get(CatalogKey.all(2, 10), this::load);
+
+        assertEquals(2, cache.getStats().getSize());
+        assertEquals(1, cache.getStats().getEvictions());
+    }
+
+    @Test
+    public void zeroEntriesDisablesCachingTest() {
+        CatalogCache cache = new CatalogCache(0, 60);
+
+        cache.get(CatalogKey.all(0, 10), this::load);
+        cache.get(CatalogKey.all(0, 10), this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.getStats().getSize());
+        assertEquals(0, cache.getStats().getEvictions());
+    }
+
+    @Test
+    public void itemChangeInvalidatesOnlyAffectedEntriesTest() {
+        CatalogCache cache = new CatalogCache(10, 60);
+        cache.get(CatalogKey.category(Category.FRUITS, 0, 10), this::load);
+        cache.get(CatalogKey.category(Category.MEAT, 0, 10), this::load);
+        cache.get(CatalogKey.keyword("apple", 0, 10), this::load);
+        cache.get(CatalogKey.keyword("tomato", 0, 10), this::load);
+
+        ItemDTO apple = ItemDTO.builder().itemId(501L).itemName("Green Apple").category(Category.FRUITS).build();
+        cache.onItemChanged(ItemChangedEvent.added(apple));
+
+        assertEquals(2, cache.getStats().getSize());
+        assertEquals(2, cache.getStats().getInvalidations());
+    }
+
+    @Test
+    public void invalidationDuringLoadIsNotOverwrittenTest() {
+        CatalogCache cache = new CatalogCache(10, 60);
+        ItemDTO apple = ItemDTO.builder().itemId(501L).itemName("Green Apple").category(Category.FRUITS).build();
+
+        // The item changes after the query read the old rows but before the page is cached
+        cache.get(CatalogKey.category(Category.FRUITS, 0, 10), () -> {
+            cache.onItemChanged(ItemChangedEvent.added(apple));
+            return load();
+        });
+        cache.get(CatalogKey.category(Category.FRUITS, 0, 10), this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.getStats().getHits());
+    }
+
+    @Test
+    public void unrelatedChangeDuringLoadStillCachesTest() {
+        CatalogCache cache = new CatalogCache(10, 60);
+        ItemDTO steak = ItemDTO.builder().itemId(502L).itemName("Steak").category(Category.MEAT).build();
+
+        cache.get(CatalogKey.category(Category.FRUITS, 0, 10), () -> {
+            cache.onItemChanged(ItemChangedEvent.added(steak));
+            return load();
+        });
+        cache.get(CatalogKey.category(Category.FRUITS, 0, 10), this::load);
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getStats().getHits());
+    }
+}
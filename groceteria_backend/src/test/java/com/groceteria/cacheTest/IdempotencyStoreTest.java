@@ -0,0 +1,52 @@
+package com.groceteria.cacheTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.groceteria.cache.IdempotencyStore;
+import com.groceteria.exception.BadRequestException;
+
+public class IdempotencyStoreTest {
+
+    private final IdempotencyStore store = new IdempotencyStore(100, 60);
+
+    @Test
+    public void retryReplaysStoredResponseTest() {
+        AtomicInteger calls = new AtomicInteger();
+
+        ResponseEntity<Integer> first = store.execute("orders", "key-1", "request",
+            () -> new ResponseEntity<>(calls.incrementAndGet(), HttpStatus.CREATED));
+        ResponseEntity<Integer> retry = store.execute("orders", "key-1", "request",
+            () -> new ResponseEntity<>(calls.incrementAndGet(), HttpStatus.CREATED));
+
+        assertEquals(1, calls.get());
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertEquals(first.getBody(), retry.getBody());
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+    }
+
+    @Test
+    public void keyReusedForDifferentRequestIsRejectedTest() {
+        store.execute("orders", "key-1", "request", () -> ResponseEntity.ok(1));
+
+        assertThrows(BadRequestException.class,
+            () -> store.execute("orders", "key-1", "other request", () -> ResponseEntity.ok(2)));
+    }
+
+    @Test
+    public void failedRequestCanBeRetriedTest() {
+        assertThrows(IllegalStateException.class, () -> store.execute("payments", "key-1", "request", () -> {
+            throw new IllegalStateException("gateway down");
+        }));
+
+        ResponseEntity<Integer> retry = store.execute("payments", "key-1", "request", () -> ResponseEntity.ok(2));
+
+        assertEquals(2, retry.getBody());
+        assertNull(retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+    }
+}
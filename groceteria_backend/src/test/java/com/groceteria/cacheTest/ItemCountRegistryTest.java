@@ -0,0 +1,168 @@
+package com.groceteria.cacheTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.groceteria.cache.ItemCountRegistry;
+import com.groceteria.dto.ItemDTO;
+import com.groceteria.entity.Category;
+import com.groceteria.event.ItemChangedEvent;
+import com.groceteria.repository.ItemRepository;
+
+public class ItemCountRegistryTest {
+
+    private ItemRepository itemRepository;
+    private ExecutorService executor;
+
+    private static List<Object[]> rows(long fruits, long meat) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { Category.FRUITS, fruits });
+        rows.add(new Object[] { Category.MEAT, meat });
+        return rows;
+    }
+
+    private static ItemDTO item(long id, Category category) {
+        return ItemDTO.builder().itemId(id).itemName("Item " + id).category(category).build();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        itemRepository = mock(ItemRepository.class);
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void countsAreLoadedOnceAndKeptCurrentByEventsTest() {
+        when(itemRepository.countItemsGroupedByCategory()).thenReturn(rows(3, 2));
+        ItemCountRegistry registry = new ItemCountRegistry(itemRepository, 600);
+
+        assertEquals(5, registry.getTotalCount());
+        registry.onItemChanged(ItemChangedEvent.added(item(501, Category.FRUITS)));
+        registry.onItemChanged(ItemChangedEvent.updated(item(1, Category.MEAT), item(1, Category.VEGETABLES)));
+
+        assertEquals(4, registry.getCount(Category.FRUITS));
+        assertEquals(1, registry.getCount(Category.MEAT));
+        assertEquals(1, registry.getCount(Category.VEGETABLES));
+        assertEquals(6, registry.getTotalCount());
+        verify(itemRepository, times(1)).countItemsGroupedByCategory();
+    }
+
+    @Test
+    public void invalidateAndExpiryReloadFromDatabaseTest() {
+        when(itemRepository.countItemsGroupedByCategory()).thenReturn(rows(3, 2), rows(7, 2), rows(8, 2));
+        ItemCountRegistry registry = new ItemCountRegistry(itemRepository, 600);
+        assertEquals(3, registry.getCount(Category.FRUITS));
+
+        registry.invalidate();
+        // Not applied: nothing is loaded, and the reload reads the change from the database
+        registry.onItemChanged(ItemChangedEvent.added(item(501, Category.FRUITS)));
+        assertEquals(7, registry.getCount(Category.FRUITS));
+
+        ItemCountRegistry expiring = new ItemCountRegistry(itemRepository, 0);
+        assertEquals(10, expiring.getTotalCount());
+        verify(itemRepository, times(3)).countItemsGroupedByCategory();
+    }
+
+    @Test
+    public void changeDuringLoadForcesReloadOnNextReadTest() {
+        ItemCountRegistry registry = new ItemCountRegistry(itemRepository, 600);
+        when(itemRepository.countItemsGroupedByCategory())
+            .thenAnswer(call -> {
+                // The query has already read its rows when the item is added
+                registry.onItemChanged(ItemChangedEvent.added(item(501, Category.FRUITS)));
+                return rows(3, 2);
+            })
+            .thenReturn(rows(4, 2));
+
+        assertEquals(3, registry.getCount(Category.FRUITS));
+        assertEquals(4, registry.getCount(Category.FRUITS));
+        assertEquals(4, registry.getCount(Category.FRUITS));
+        verify(itemRepository, times(2)).countItemsGroupedByCategory();
+    }
+
+    @Test
+    public void loadBetweenCommitAndEventIsNotTrustedTest() throws Exception {
+        when(itemRepository.countItemsGroupedByCategory()).thenReturn(rows(4, 2));
+        ItemCountRegistry registry = new ItemCountRegistry(itemRepository, 600);
+        CountDownLatch committed = new CountDownLatch(1);
+        CountDownLatch loaded = new CountDownLatch(1);
+
+        Future<ItemDTO> writer = executor.submit(() -> registry.trackWrite(() -> {
+            // The row is in the database from here on, but the event is not out yet
+            committed.countDown();
+            await(loaded);
+            ItemDTO added = item(501, Category.FRUITS);
+            registry.onItemChanged(ItemChangedEvent.added(added));
+            return added;
+        }));
+        assertTrue(committed.await(10, TimeUnit.SECONDS));
+        // Already includes the new item
+        assertEquals(4, registry.getCount(Category.FRUITS));
+        loaded.countDown();
+        writer.get(10, TimeUnit.SECONDS);
+
+        // Reloaded rather than counting the new item twice
+        assertEquals(4, registry.getCount(Category.FRUITS));
+        assertEquals(4, registry.getCount(Category.FRUITS));
+        verify(itemRepository, times(2)).countItemsGroupedByCategory();
+    }
+
+    @Test
+    public void stockChangesKeepSnapshotTest() {
+        when(itemRepository.countItemsGroupedByCategory()).thenReturn(rows(3, 2));
+        ItemCountRegistry registry = new ItemCountRegistry(itemRepository, 600);
+        assertEquals(5, registry.getTotalCount());
+
+        registry.onItemChanged(ItemChangedEvent.updated(item(1, Category.FRUITS), item(1, Category.FRUITS)));
+
+        assertEquals(3, registry.getCount(Category.FRUITS));
+        verify(itemRepository, times(1)).countItemsGroupedByCategory();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    public void eventsDoNotWaitForRunningLoadTest() throws Exception {
+        CountDownLatch querying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(itemRepository.countItemsGroupedByCategory()).thenAnswer(call -> {
+            querying.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return rows(3, 2);
+        });
+        ItemCountRegistry registry = new ItemCountRegistry(itemRepository, 600);
+
+        Future<Long> reader = executor.submit(registry::getTotalCount);
+        assertTrue(querying.await(10, TimeUnit.SECONDS));
+        // Returns while the query is still blocked
+        registry.onItemChanged(ItemChangedEvent.added(item(501, Category.FRUITS)));
+        assertFalse(reader.isDone());
+
+        release.countDown();
+        assertEquals(5L, reader.get(10, TimeUnit.SECONDS));
+    }
+}
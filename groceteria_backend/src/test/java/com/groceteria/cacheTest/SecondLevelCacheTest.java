@@ -0,0 +1,93 @@
+package com.groceteria.cacheTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.groceteria.cache.SecondLevelCacheStats;
+import com.groceteria.dto.CacheRegionStatsDTO;
+import com.groceteria.dto.StockLineDTO;
+import com.groceteria.entity.Item;
+import com.groceteria.repository.ItemRepository;
+import com.groceteria.seed.SeedPlan;
+import com.groceteria.seed.SeedSummary;
+import com.groceteria.seed.SyntheticDataGenerator;
+import com.groceteria.service.InventoryService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+public class SecondLevelCacheTest {
+
+    private static SeedSummary data;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private SecondLevelCacheStats cacheStats;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    public void setUp() {
+        if (data == null) {
+            data = new SyntheticDataGenerator(jdbcTemplate,
+                SeedPlan.builder().seed(7).vendors(2).customers(5).items(20).orders(0).cartUsers(0).build()).generate();
+        }
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getStatistics().clear();
+    }
+
+    private CacheRegionStatsDTO itemRegion() {
+        return cacheStats.getRegionStats().stream()
+            .filter(region -> region.getRegion().equals(Item.class.getName()))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    @Test
+    public void repeatedLookupIsServedFromCacheTest() {
+        long itemId = data.getFirstItemId();
+
+        itemRepository.findById(itemId);
+        itemRepository.findById(itemId);
+
+        CacheRegionStatsDTO stats = itemRegion();
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getPuts());
+        assertEquals(1, stats.getHits());
+        assertEquals(0.5, stats.getHitRatio());
+    }
+
+    @Test
+    public void cachedItemSeesStockAfterReserveAndReleaseTest() {
+        long itemId = data.getFirstItemId() + 1;
+        jdbcTemplate.update("UPDATE items SET quantity = 10 WHERE item_id = ?", itemId);
+        assertEquals(10L, itemRepository.findById(itemId).orElseThrow().getQuantity());
+        // Cached now; the stock updates below bypass Hibernate
+        assertEquals(10L, itemRepository.findById(itemId).orElseThrow().getQuantity());
+
+        assertTrue(inventoryService.reserve(List.of(new StockLineDTO(itemId, 3L))).isReserved());
+        assertEquals(7L, itemRepository.findById(itemId).orElseThrow().getQuantity());
+
+        inventoryService.release(List.of(new StockLineDTO(itemId, 2L)));
+        assertEquals(9L, itemRepository.findById(itemId).orElseThrow().getQuantity());
+    }
+}
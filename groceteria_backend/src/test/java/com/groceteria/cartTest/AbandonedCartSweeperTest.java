@@ -0,0 +1,88 @@
+package com.groceteria.cartTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Timestamp;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.groceteria.cart.AbandonedCartSweeper;
+import com.groceteria.cart.WriteBehindCartStore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class AbandonedCartSweeperTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:sweeper;MODE=MySQL;DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS carts");
+        jdbcTemplate.execute("CREATE TABLE carts (cart_id BIGINT PRIMARY KEY, last_touched TIMESTAMP)");
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void deletesOnlyStaleLinesChunkByChunkTest() {
+        Timestamp stale = new Timestamp(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(31));
+        Timestamp fresh = new Timestamp(System.currentTimeMillis());
+        for (long cartId = 1; cartId <= 100; cartId++) {
+            jdbcTemplate.update("INSERT INTO carts VALUES (?, ?)", cartId,
+                cartId % 3 == 0 ? null : cartId % 2 == 0 ? stale : fresh);
+        }
+        AbandonedCartSweeper sweeper = new AbandonedCartSweeper(jdbcTemplate, Optional.empty(), meterRegistry, 30, 10, 10, 0, 0, 0, 60000);
+
+        // 1..100: multiples of 3 have no timestamp, of the rest the even ones are stale
+        assertEquals(34, sweeper.sweep());
+        assertEquals(66, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM carts", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM carts WHERE last_touched IS NULL", Long.class));
+        assertEquals(10.0, meterRegistry.counter("groceteria.cart.sweeper.chunks").count());
+        assertEquals(34.0, meterRegistry.counter("groceteria.cart.sweeper.deleted").count());
+
+        // Backfilled lines are not stale yet
+        assertEquals(0, sweeper.sweep());
+    }
+
+    @Test
+    public void exhaustedRunResumesWhereItStoppedTest() {
+        Timestamp stale = new Timestamp(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(31));
+        for (long cartId = 1; cartId <= 50; cartId++) {
+            jdbcTemplate.update("INSERT INTO carts VALUES (?, ?)", cartId, stale);
+        }
+        // A zero budget still sweeps nothing, a later run with budget finishes the pass
+        AbandonedCartSweeper paused = new AbandonedCartSweeper(jdbcTemplate, Optional.empty(), meterRegistry, 30, 10, 10, 0, 0, 0, 0);
+        assertEquals(0, paused.sweep());
+        assertEquals(50, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM carts", Long.class));
+
+        AbandonedCartSweeper sweeper = new AbandonedCartSweeper(jdbcTemplate, Optional.empty(), meterRegistry, 30, 10, 10, 0, 0, 0, 60000);
+        assertEquals(50, sweeper.sweep());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM carts", Long.class));
+    }
+
+    @Test
+    public void cartsHeldByWriteBehindStoreAreSkippedTest() {
+        jdbcTemplate.execute("ALTER TABLE carts ADD COLUMN user_id INT");
+        Timestamp stale = new Timestamp(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(31));
+        for (long cartId = 1; cartId <= 20; cartId++) {
+            jdbcTemplate.update("INSERT INTO carts (cart_id, last_touched, user_id) VALUES (?, ?, ?)", cartId, stale,
+                (int) (cartId % 4));
+        }
+        WriteBehindCartStore store = mock(WriteBehindCartStore.class);
+        when(store.isResident(anyInt())).thenAnswer(call -> (Integer) call.getArgument(0) == 1);
+        AbandonedCartSweeper sweeper = new AbandonedCartSweeper(jdbcTemplate, Optional.of(store), meterRegistry,
+            30, 10, 10, 0, 0, 0, 60000);
+
+        assertEquals(15, sweeper.sweep());
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM carts WHERE user_id = 1", Long.class));
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM carts", Long.class));
+    }
+}
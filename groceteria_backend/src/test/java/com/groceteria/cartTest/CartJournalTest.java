@@ -0,0 +1,63 @@
+package com.groceteria.cartTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.groceteria.cart.CartJournal;
+import com.groceteria.cart.CartJournal.Entry;
+
+public class CartJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void entriesAreReplayedAfterRestartTest() throws Exception {
+        try (CartJournal journal = new CartJournal(directory, false)) {
+            journal.append(Entry.set(7, 11L, 101L, 3L, 2.5));
+            journal.append(Entry.remove(7, 11L, 101L));
+            journal.append(Entry.clear(8));
+        }
+
+        try (CartJournal reopened = new CartJournal(directory, false)) {
+            List<Entry> entries = reopened.readPrevious();
+
+            assertEquals(List.of(Entry.set(7, 11L, 101L, 3L, 2.5), Entry.remove(7, 11L, 101L), Entry.clear(8)), entries);
+        }
+    }
+
+    @Test
+    public void tornLastLineIsSkippedTest() throws Exception {
+        try (CartJournal journal = new CartJournal(directory, false)) {
+            journal.append(Entry.set(7, 11L, 101L, 3L, 2.5));
+        }
+        Path segment = Files.list(directory).findFirst().orElseThrow();
+        Files.writeString(segment, "SET|7|12|10", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (CartJournal reopened = new CartJournal(directory, false)) {
+            assertEquals(List.of(Entry.set(7, 11L, 101L, 3L, 2.5)), reopened.readPrevious());
+        }
+    }
+
+    @Test
+    public void deleteThroughKeepsEntriesAfterTheSealTest() throws Exception {
+        try (CartJournal journal = new CartJournal(directory, false)) {
+            journal.append(Entry.set(7, 11L, 101L, 3L, 2.5));
+            long sealed = journal.seal();
+            journal.append(Entry.set(7, 11L, 101L, 4L, 2.5));
+            journal.deleteThrough(sealed);
+        }
+
+        try (CartJournal reopened = new CartJournal(directory, false)) {
+            assertEquals(List.of(Entry.set(7, 11L, 101L, 4L, 2.5)), reopened.readPrevious());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.groceteria.cartTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import com.groceteria.cart.CartLocks;
+
+public class CartLocksTest {
+
+    @Test
+    public void stripeCountIsRoundedToPowerOfTwoTest() {
+        assertEquals(256, new CartLocks(200).getStripeCount());
+        assertEquals(64, new CartLocks(64).getStripeCount());
+        assertEquals(1, new CartLocks(0).getStripeCount());
+    }
+
+    @Test
+    public void sameUserMutationsDoNotInterleaveTest() throws Exception {
+        CartLocks locks = new CartLocks(4);
+        int users = 10;
+        int increments = 2000;
+        long[] quantities = new long[users];
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < increments; i++) {
+                        int userId = i % users;
+                        // Read-modify-write, like a check-then-update of a cart line
+                        locks.withUserLock(userId, () -> {
+                            long current = quantities[userId];
+                            Thread.yield();
+                            quantities[userId] = current + 1;
+                            return null;
+                        });
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        for (long quantity : quantities) {
+            assertEquals(8L * increments / users, quantity);
+        }
+    }
+}
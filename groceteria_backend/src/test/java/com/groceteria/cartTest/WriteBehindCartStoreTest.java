@@ -0,0 +1,316 @@
+package com.groceteria.cartTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+
+import com.groceteria.cart.CartIdGenerator;
+import com.groceteria.cart.WriteBehindCartStore;
+import com.groceteria.dto.CartDTO;
+import com.groceteria.dto.CartLineOperationDTO;
+import com.groceteria.dto.CartLineOperationDTO.Action;
+import com.groceteria.repository.CartRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class WriteBehindCartStoreTest {
+
+    @TempDir
+    Path journalDir;
+
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+    private CartRepository cartRepository;
+    private CartIdGenerator cartIdGenerator;
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:writebehind;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS carts");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS items");
+        jdbcTemplate.execute("CREATE TABLE items (item_id BIGINT PRIMARY KEY)");
+        jdbcTemplate.execute("CREATE TABLE carts (cart_id BIGINT PRIMARY KEY, quantity BIGINT, mrp_price DOUBLE,"
+            + " item_id BIGINT REFERENCES items (item_id), user_id INT, last_touched TIMESTAMP,"
+            + " CONSTRAINT uk_carts_user_item UNIQUE (user_id, item_id))");
+        for (long itemId = 1; itemId <= 20; itemId++) {
+            jdbcTemplate.update("INSERT INTO items VALUES (?)", itemId);
+        }
+
+        cartRepository = mock(CartRepository.class);
+        when(cartRepository.findByUserIdAsDTO(anyInt())).thenAnswer(call -> jdbcTemplate.query(
+            "SELECT cart_id, quantity, mrp_price, item_id, user_id FROM carts WHERE user_id = ? ORDER BY cart_id",
+            (rs, row) -> new CartDTO(rs.getLong(1), rs.getLong(2), rs.getDouble(3), rs.getLong(4), rs.getInt(5)),
+            (Integer) call.getArgument(0)));
+        when(cartRepository.deleteByUserId(anyInt())).thenAnswer(call ->
+            jdbcTemplate.update("DELETE FROM carts WHERE user_id = ?", (Integer) call.getArgument(0)));
+
+        AtomicLong ids = new AtomicLong(1000);
+        cartIdGenerator = mock(CartIdGenerator.class);
+        when(cartIdGenerator.nextId()).thenAnswer(call -> ids.incrementAndGet());
+
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private WriteBehindCartStore store(PlatformTransactionManager transactions, long idleEvictSeconds) throws Exception {
+        return new WriteBehindCartStore(cartRepository, jdbcTemplate, transactions, cartIdGenerator, meterRegistry,
+            journalDir.toString(), false, 500, idleEvictSeconds);
+    }
+
+    private long rows(String where, Object... args) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM carts WHERE " + where, Long.class, args);
+    }
+
+    @Test
+    public void addMergesIntoExistingLineTest() throws Exception {
+        WriteBehindCartStore store = store(transactionManager, 900);
+
+        CartDTO first = store.add(1, 5L, 2L, 10.0);
+        CartDTO second = store.add(1, 5L, 3L, 12.0);
+
+        assertEquals(first.getCartId(), second.getCartId());
+        assertEquals(5L, second.getQuantity());
+        assertEquals(12.0, second.getMrpPrice());
+        assertEquals(1, store.getCart(1).size());
+    }
+
+    @Test
+    public void flushPersistsDirtyLinesTest() throws Exception {
+        WriteBehindCartStore store = store(transactionManager, 900);
+        CartDTO line = store.add(1, 5L, 2L, 10.0);
+        store.add(2, 6L, 1L, 4.0);
+        assertEquals(0, rows("1 = 1"));
+
+        store.flushAll();
+
+        assertEquals(2L, jdbcTemplate.queryForObject("SELECT quantity FROM carts WHERE cart_id = ?", Long.class, line.getCartId()));
+        assertEquals(1, rows("user_id = 2 AND last_touched IS NOT NULL"));
+        assertEquals(0.0, meterRegistry.get("groceteria.cart.store.dirty").gauge().value());
+
+        store.update(line.getCartId(), 7L, null);
+        store.flush(1);
+        assertEquals(7L, jdbcTemplate.queryForObject("SELECT quantity FROM carts WHERE cart_id = ?", Long.class, line.getCartId()));
+    }
+
+    @Test
+    public void removeThenReAddKeepsOneRowPerItemTest() throws Exception {
+        WriteBehindCartStore store = store(transactionManager, 900);
+        CartDTO original = store.add(1, 5L, 2L, 10.0);
+        store.flushAll();
+
+        assertTrue(store.remove(original.getCartId()));
+        CartDTO readded = store.add(1, 5L, 4L, 10.0);
+        store.flushAll();
+
+        assertNotEquals(original.getCartId(), readded.getCartId());
+        assertEquals(1, rows("user_id = 1 AND item_id = 5"));
+        assertEquals(1, rows("cart_id = ? AND quantity = 4", readded.getCartId()));
+        assertTrue(store.find(original.getCartId()).isEmpty());
+    }
+
+    @Test
+    public void lineDeletedBehindTheStoreIsWrittenAgainTest() throws Exception {
+        WriteBehindCartStore store = store(transactionManager, 900);
+        CartDTO line = store.add(1, 5L, 2L, 10.0);
+        store.flushAll();
+        // e.g. removed by the abandoned-cart sweeper while the cart stays in memory
+        jdbcTemplate.update("DELETE FROM carts WHERE cart_id = ?", line.getCartId());
+
+        store.update(line.getCartId(), 3L, null);
+        store.flushAll();
+
+        assertEquals(1, rows("cart_id = ? AND quantity = 3", line.getCartId()));
+    }
+
+    @Test
+    public void journalIsReplayedAfterCrashTest() throws Exception {
+        WriteBehindCartStore crashed = store(transactionManager, 900);
+        crashed.add(1, 5L, 2L, 10.0);
+        crashed.add(1, 6L, 1L, 3.0);
+        CartDTO removed = crashed.add(2, 7L, 1L, 1.0);
+        crashed.remove(removed.getCartId());
+        // No flush and no shutdown: the process dies with every change only in the journal
+
+        WriteBehindCartStore restarted = store(transactionManager, 900);
+        restarted.recover();
+
+        assertEquals(2, rows("user_id = 1"));
+        assertEquals(0, rows("user_id = 2"));
+        assertEquals(2, restarted.getCart(1).size());
+    }
+
+    @Test
+    public void idleCartsAreEvictedAndReloadedTest() throws Exception {
+        WriteBehindCartStore store = store(transactionManager, 0);
+        CartDTO line = store.add(1, 5L, 2L, 10.0);
+        store.flushAll();
+        assertEquals(0.0, meterRegistry.get("groceteria.cart.store.carts").gauge().value());
+
+        // Changed behind the store's back; visible only once the cart is loaded again
+        jdbcTemplate.update("UPDATE carts SET quantity = 9 WHERE cart_id = ?", line.getCartId());
+        assertEquals(9L, store.getCart(1).get(0).getQuantity());
+    }
+
+    @Test
+    public void clearDropsPendingChangesTest() throws Exception {
+        WriteBehindCartStore store = store(transactionManager, 900);
+        store.add(1, 5L, 2L, 10.0);
+        store.flushAll();
+        store.add(1, 6L, 1L, 3.0);
+
+        store.clear(1);
+        store.flushAll();
+
+        assertEquals(0, rows("user_id = 1"));
+        assertTrue(store.getCart(1).isEmpty());
+
+        // Nothing is replayed for the cleared cart either
+        WriteBehindCartStore restarted = store(transactionManager, 900);
+        restarted.recover();
+        assertEquals(0, rows("user_id = 1"));
+    }
+
+    @Test
+    public void userFlushWaitsForInFlightFlushAllTest() throws Exception {
+        CountDownLatch committing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PlatformTransactionManager blockingCommit = new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                return transactionManager.getTransaction(definition);
+            }
+
+            @Override
+            public void commit(TransactionStatus status) {
+                committing.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                transactionManager.commit(status);
+            }
+
+            @Override
+            public void rollback(TransactionStatus status) {
+                transactionManager.rollback(status);
+            }
+        };
+        WriteBehindCartStore store = store(blockingCommit, 900);
+        store.add(1, 5L, 2L, 10.0);
+
+        Future<?> flushAll = executor.submit(store::flushAll);
+        assertTrue(committing.await(10, TimeUnit.SECONDS));
+        // The user is no longer dirty, but the line is not committed yet
+        Future<Long> checkout = executor.submit(() -> {
+            store.flush(1);
+            return rows("user_id = 1");
+        });
+        Thread.sleep(200);
+        assertFalse(checkout.isDone());
+
+        release.countDown();
+        assertEquals(1L, checkout.get(10, TimeUnit.SECONDS));
+        flushAll.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void rejectedLineDoesNotHoldBackOtherCartsTest() throws Exception {
+        WriteBehindCartStore store = store(transactionManager, 900);
+        store.add(1, 5L, 2L, 10.0);
+        store.add(1, 6L, 1L, 3.0);
+        store.add(2, 7L, 1L, 1.0);
+        // Item deleted after it was added: its insert violates the foreign key
+        jdbcTemplate.update("DELETE FROM items WHERE item_id = 5");
+
+        store.flushAll();
+
+        assertEquals(1, rows("user_id = 1 AND item_id = 6"));
+        assertEquals(1, rows("user_id = 2"));
+        assertEquals(0, rows("item_id = 5"));
+        assertEquals(1, store.getCart(1).size());
+        assertEquals(1.0, meterRegistry.get("groceteria.cart.store.rejected.lines").counter().count());
+        assertEquals(0.0, meterRegistry.get("groceteria.cart.store.flush.failures").counter().count());
+        assertTrue(Files.readString(journalDir.resolve("cart-rejected.log")).startsWith("SET|1|5|"));
+
+        // The journal was trimmed, so a restart replays nothing
+        store.add(3, 8L, 1L, 1.0);
+        store.flushAll();
+        WriteBehindCartStore restarted = store(transactionManager, 900);
+        restarted.recover();
+        assertEquals(0, rows("item_id = 5"));
+        assertEquals(1, restarted.getCart(1).size());
+    }
+
+    private static CartLineOperationDTO operation(long itemId, Action action, Long quantity) {
+        return CartLineOperationDTO.builder().itemId(itemId).action(action).quantity(quantity).build();
+    }
+
+    @Test
+    public void applyAddRemoveAddKeepsOneLinePerItemTest() throws Exception {
+        WriteBehindCartStore store = store(transactionManager, 900);
+        store.add(1, 5L, 5L, 10.0);
+        store.flushAll();
+
+        List<CartDTO> cart = store.apply(1, List.of(
+            operation(5L, Action.ADD, 1L),
+            operation(5L, Action.REMOVE, null),
+            operation(5L, Action.ADD, 2L),
+            operation(6L, Action.ADD, 3L),
+            operation(6L, Action.REMOVE, null),
+            operation(6L, Action.ADD, 4L)), Map.of(5L, 11.0, 6L, 3.0));
+        store.flushAll();
+
+        assertEquals(2, cart.size());
+        assertEquals(1, rows("user_id = 1 AND item_id = 5 AND quantity = 2 AND mrp_price = 11.0"));
+        assertEquals(1, rows("user_id = 1 AND item_id = 6 AND quantity = 4"));
+        assertEquals(2, rows("user_id = 1"));
+    }
+
+    @Test
+    public void applyRemoveOfAbsentItemIsIgnoredTest() throws Exception {
+        WriteBehindCartStore store = store(transactionManager, 900);
+        store.add(1, 5L, 2L, 10.0);
+
+        List<CartDTO> cart = store.apply(1, List.of(
+            operation(6L, Action.REMOVE, null),
+            operation(5L, Action.SET, 7L)), Map.of(5L, 10.0, 6L, 3.0));
+        store.flushAll();
+
+        assertEquals(1, cart.size());
+        assertEquals(7L, cart.get(0).getQuantity());
+        assertEquals(1, rows("user_id = 1 AND item_id = 5 AND quantity = 7"));
+        assertEquals(0, rows("item_id = 6"));
+    }
+}
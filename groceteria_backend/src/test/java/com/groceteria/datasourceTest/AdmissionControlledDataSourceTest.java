@@ -0,0 +1,45 @@
+package com.groceteria.datasourceTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import com.groceteria.datasource.AdmissionControlledDataSource;
+
+public class AdmissionControlledDataSourceTest {
+
+    private final AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(h2(), 1, 50);
+
+    private static JdbcDataSource h2() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:admission;DB_CLOSE_DELAY=-1");
+        return h2;
+    }
+
+    @Test
+    public void callerBeyondPermitsTimesOutTest() throws Exception {
+        try (Connection held = dataSource.getConnection()) {
+            assertEquals(1, dataSource.getActive());
+            assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        }
+        try (Connection next = dataSource.getConnection()) {
+            assertTrue(next.isValid(1));
+        }
+    }
+
+    @Test
+    public void repeatedCloseReleasesOnceTest() throws Exception {
+        Connection connection = dataSource.getConnection();
+        connection.close();
+        connection.close();
+
+        assertEquals(0, dataSource.getActive());
+        try (Connection first = dataSource.getConnection()) {
+            assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.groceteria.diagnosticsTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import com.groceteria.diagnostics.QueryInspector;
+import com.groceteria.diagnostics.RequestQueries;
+import com.groceteria.dto.EndpointQueryStatsDTO;
+import com.groceteria.dto.QueryOffenderDTO;
+import com.groceteria.dto.QueryReportDTO;
+
+public class QueryInspectorTest {
+
+    private static final String SELECT_ITEMS = "select * from items limit ?";
+    private static final String SELECT_USER = "select * from users where user_id=?";
+
+    private final QueryInspector inspector = new QueryInspector(true, 5, 50, 2);
+
+    private void request(String endpoint, int lazyLoads) {
+        RequestQueries queries = RequestQueries.begin();
+        try {
+            RequestQueries.record(SELECT_ITEMS, 1_000_000);
+            for (int i = 0; i < lazyLoads; i++) {
+                RequestQueries.record(SELECT_USER, 500_000);
+            }
+        } finally {
+            RequestQueries.end();
+        }
+        inspector.completed(endpoint, "/uri", queries);
+    }
+
+    @Test
+    public void repeatedStatementIsFlaggedTest() {
+        request("GET /api/v1/items/paged", 10);
+        request("GET /api/v1/items/{itemId}", 1);
+
+        QueryReportDTO report = inspector.getReport();
+        assertEquals(1, report.getOffenders().size());
+        QueryOffenderDTO offender = report.getOffenders().get(0);
+        assertEquals("GET /api/v1/items/paged", offender.getEndpoint());
+        assertEquals(11, offender.getStatementCount());
+        assertEquals(SELECT_USER, offender.getRepeatedStatements().get(0).getSql());
+        assertEquals(10, offender.getRepeatedStatements().get(0).getExecutions());
+
+        EndpointQueryStatsDTO worst = report.getEndpoints().get(0);
+        assertEquals("GET /api/v1/items/paged", worst.getEndpoint());
+        assertEquals(1, worst.getFlaggedRequests());
+        assertEquals(6.0, worst.getDbTimeMillis(), 0.001);
+    }
+
+    @Test
+    public void offenderBufferIsBoundedTest() {
+        request("GET /first", 5);
+        request("GET /second", 5);
+        request("GET /third", 5);
+
+        QueryReportDTO report = inspector.getReport();
+        assertEquals(2, report.getOffenders().size());
+        assertEquals("GET /third", report.getOffenders().get(0).getEndpoint());
+        assertEquals(3, report.getEndpoints().size());
+    }
+
+    @Test
+    public void statementsOutsideRequestAreIgnoredTest() {
+        RequestQueries.record(SELECT_USER, 1_000);
+        request("GET /api/v1/users/{userId}", 0);
+
+        assertEquals(1, inspector.getReport().getEndpoints().get(0).getStatements());
+    }
+}
@@ -0,0 +1,150 @@
+package com.groceteria.loggingTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import com.groceteria.logging.SqlLoggingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+public class SqlLoggingDataSourceTest {
+
+    private final SqlLoggingDataSource dataSource = new SqlLoggingDataSource(h2(), 1.0, 1);
+
+    private final Logger sqlLog = (Logger) LoggerFactory.getLogger("com.groceteria.sql");
+    private final Logger slowLog = (Logger) LoggerFactory.getLogger("com.groceteria.sql.slow");
+    private final ListAppender<ILoggingEvent> sqlEvents = new ListAppender<>();
+    private final ListAppender<ILoggingEvent> slowEvents = new ListAppender<>();
+
+    private static JdbcDataSource h2() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sqllogging;DB_CLOSE_DELAY=-1");
+        return h2;
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        try (Connection connection = h2().getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create alias if not exists pause for \"java.lang.Thread.sleep\"");
+        }
+        sqlLog.setLevel(Level.DEBUG);
+        sqlLog.setAdditive(false);
+        sqlLog.addAppender(sqlEvents);
+        slowLog.setLevel(Level.WARN);
+        slowLog.setAdditive(false);
+        slowLog.addAppender(slowEvents);
+        sqlEvents.start();
+        slowEvents.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        sqlLog.detachAppender(sqlEvents);
+        slowLog.detachAppender(slowEvents);
+        sqlLog.setLevel(null);
+        slowLog.setLevel(null);
+        sqlLog.setAdditive(true);
+        slowLog.setAdditive(true);
+    }
+
+    // Runs a statement that takes at least pauseMillis, with a long text bind and a null bind
+    private static void runPaused(SqlLoggingDataSource target, long pauseMillis) throws Exception {
+        try (Connection connection = target.getConnection();
+                PreparedStatement select = connection.prepareStatement("select pause(?), ?, ?")) {
+            select.setLong(1, pauseMillis);
+            select.setString(2, "x".repeat(150));
+            select.setNull(3, Types.VARCHAR);
+            try (ResultSet rs = select.executeQuery()) {
+                assertTrue(rs.next());
+            }
+        }
+    }
+
+    private static List<String> messages(ListAppender<ILoggingEvent> events) {
+        return events.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+    }
+
+    @Test
+    public void statementsBehaveAsUnwrappedTest() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("create table if not exists notes (id int primary key, body varchar(20))");
+                statement.execute("delete from notes");
+            }
+            try (PreparedStatement insert = connection.prepareStatement("insert into notes values (?, ?)")) {
+                for (int i = 1; i <= 3; i++) {
+                    insert.setInt(1, i);
+                    insert.setString(2, "note " + i);
+                    insert.addBatch();
+                }
+                assertEquals(3, insert.executeBatch().length);
+            }
+            try (PreparedStatement select = connection.prepareStatement("select body from notes where id = ?")) {
+                select.setInt(1, 2);
+                try (ResultSet rs = select.executeQuery()) {
+                    assertTrue(rs.next());
+                    assertEquals("note 2", rs.getString(1));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void unwrapReachesTargetDataSourceTest() throws Exception {
+        assertTrue(dataSource.isWrapperFor(JdbcDataSource.class));
+        assertFalse(dataSource.isWrapperFor(HikariDataSource.class));
+    }
+
+    @Test
+    public void slowStatementIsLoggedWithBindsTest() throws Exception {
+        runPaused(new SqlLoggingDataSource(h2(), 0, 20), 30);
+
+        assertEquals(1, slowEvents.list.size());
+        ILoggingEvent event = slowEvents.list.get(0);
+        assertEquals(Level.WARN, event.getLevel());
+        // Long values are cut at 100 characters; setNull is reported as null
+        assertTrue(event.getFormattedMessage().endsWith(
+            " ms: select pause(?), ?, ? binds [1=30, 2=" + "x".repeat(100) + "..., 3=null]"), event.getFormattedMessage());
+        assertTrue(sqlEvents.list.isEmpty());
+    }
+
+    @Test
+    public void fastStatementIsNotLoggedAsSlowTest() throws Exception {
+        runPaused(new SqlLoggingDataSource(h2(), 0, 10_000), 0);
+
+        assertTrue(slowEvents.list.isEmpty());
+        assertTrue(sqlEvents.list.isEmpty());
+    }
+
+    @Test
+    public void sampledStatementsAreLoggedWithoutBindsTest() throws Exception {
+        SqlLoggingDataSource everyStatement = new SqlLoggingDataSource(h2(), 1.0, 0);
+        runPaused(everyStatement, 0);
+        runPaused(everyStatement, 0);
+
+        assertEquals(2, sqlEvents.list.size());
+        assertEquals(Level.DEBUG, sqlEvents.list.get(0).getLevel());
+        assertTrue(messages(sqlEvents).stream().allMatch(message -> message.endsWith(" us: select pause(?), ?, ?")));
+        assertTrue(slowEvents.list.isEmpty());
+
+        sqlEvents.list.clear();
+        runPaused(new SqlLoggingDataSource(h2(), 0, 0), 0);
+        assertTrue(sqlEvents.list.isEmpty());
+    }
+}
@@ -0,0 +1,55 @@
+package com.groceteria.metricsTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import com.groceteria.dto.UserDTO;
+import com.groceteria.exception.ResourceNotFoundException;
+import com.groceteria.metrics.ServiceMetricsAspect;
+import com.groceteria.service.UserService;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ServiceMetricsAspectTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private UserService instrument(UserService target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new ServiceMetricsAspect(registry));
+        return factory.getProxy();
+    }
+
+    @Test
+    public void successfulCallIsTimedTest() {
+        UserService target = mock(UserService.class);
+        when(target.getUserById(1)).thenReturn(new UserDTO());
+
+        instrument(target).getUserById(1);
+
+        Timer timer = registry.find(ServiceMetricsAspect.METRIC_NAME)
+            .tags("service", "UserService", "method", "getUserById", "outcome", "success")
+            .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    public void failedCallIsTaggedWithExceptionTest() {
+        UserService target = mock(UserService.class);
+        when(target.getUserById(1)).thenThrow(new ResourceNotFoundException("User", "Id", 1));
+
+        UserService service = instrument(target);
+        assertThrows(ResourceNotFoundException.class, () -> service.getUserById(1));
+
+        Timer timer = registry.find(ServiceMetricsAspect.METRIC_NAME)
+            .tags("method", "getUserById", "outcome", "error", "exception", "ResourceNotFoundException")
+            .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+}
@@ -0,0 +1,79 @@
+package com.groceteria.searchTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.groceteria.dto.ItemDTO;
+import com.groceteria.entity.Category;
+import com.groceteria.entity.Item;
+import com.groceteria.event.ItemChangedEvent;
+import com.groceteria.repository.ItemRepository;
+import com.groceteria.search.ItemSearchIndex;
+
+public class ItemSearchIndexTest {
+
+    private ItemSearchIndex index;
+
+    private static ItemDTO item(long id, String name, String description) {
+        return ItemDTO.builder().itemId(id).itemName(name).description(description).category(Category.VEGETABLES).build();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        index = new ItemSearchIndex(null);
+        index.onItemChanged(ItemChangedEvent.added(item(501, "Tomato", "Fresh red tomatoes")));
+        index.onItemChanged(ItemChangedEvent.added(item(502, "Cherry", "Sweet red cherries, tomato sized")));
+        index.onItemChanged(ItemChangedEvent.added(item(503, "Potato", "Starchy potatoes")));
+    }
+
+    @Test
+    public void nameMatchesRankAboveDescriptionMatchesTest() {
+        assertEquals(List.of(501L, 502L), index.search("tomato"));
+    }
+
+    @Test
+    public void prefixAndMultiTokenMatchingTest() {
+        assertEquals(List.of(501L, 502L), index.search("tom"));
+        assertEquals(List.of(501L), index.search("fresh tom"));
+        assertTrue(index.search("banana").isEmpty());
+    }
+
+    @Test
+    public void updatesAndDeletesAreAppliedIncrementallyTest() {
+        index.onItemChanged(ItemChangedEvent.updated(item(503, "Potato", "Starchy potatoes"),
+            item(503, "Sweet Potato", "Orange sweet potatoes")));
+        index.onItemChanged(ItemChangedEvent.deleted(item(502, "Cherry", "Sweet red cherries, tomato sized")));
+
+        assertEquals(List.of(503L), index.search("sweet"));
+        assertEquals(List.of(501L), index.search("tomato"));
+    }
+
+    @Test
+    public void changesDuringRebuildSurviveTheSwapTest() {
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        ItemSearchIndex rebuilding = new ItemSearchIndex(itemRepository);
+        Item tomato = new Item();
+        tomato.setItemId(501L);
+        tomato.setItemName("Tomato");
+        tomato.setDescription("Fresh red tomatoes");
+        when(itemRepository.findByItemIdGreaterThanOrderByItemIdAsc(anyLong(), any())).thenAnswer(call -> {
+            // Published after the table was read, before the rebuilt index is swapped in
+            rebuilding.onItemChanged(ItemChangedEvent.added(item(504, "Carrot", "Crunchy carrots")));
+            rebuilding.onItemChanged(ItemChangedEvent.updated(item(501, "Tomato", "Fresh red tomatoes"),
+                item(501, "Plum Tomato", "Fresh red tomatoes")));
+            return List.of(tomato);
+        });
+
+        rebuilding.rebuild();
+
+        assertTrue(rebuilding.isReady());
+        assertEquals(List.of(504L), rebuilding.search("carrot"));
+        assertEquals(List.of(501L), rebuilding.search("plum"));
+    }
+}
@@ -0,0 +1,99 @@
+package com.groceteria.searchTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.groceteria.dto.ItemDTO;
+import com.groceteria.dto.ItemSuggestionDTO;
+import com.groceteria.entity.Item;
+import com.groceteria.event.ItemChangedEvent;
+import com.groceteria.repository.ItemRepository;
+import com.groceteria.search.ItemSuggestionTrie;
+
+public class ItemSuggestionTrieTest {
+
+    private ItemSuggestionTrie trie;
+
+    private static ItemDTO item(long id, String name, long quantity) {
+        return ItemDTO.builder().itemId(id).itemName(name).quantity(quantity).build();
+    }
+
+    private List<Long> suggestIds(String prefix, int limit) {
+        return trie.suggest(prefix, limit).stream().map(ItemSuggestionDTO::getItemId).toList();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        trie = new ItemSuggestionTrie(null);
+        trie.onItemChanged(ItemChangedEvent.added(item(501, "Potato", 40)));
+        trie.onItemChanged(ItemChangedEvent.added(item(502, "Sweet Potato", 90)));
+        trie.onItemChanged(ItemChangedEvent.added(item(503, "Pomegranate", 10)));
+    }
+
+    @Test
+    public void returnsTopWeightedCompletionsTest() {
+        assertEquals(List.of(502L, 501L, 503L), suggestIds("po", 10));
+        assertEquals(List.of(502L), suggestIds("po", 1));
+        assertEquals(List.of(502L), suggestIds("Sweet", 10));
+        assertTrue(suggestIds("x", 10).isEmpty());
+    }
+
+    @Test
+    public void renamesAndStockChangesAreAppliedIncrementallyTest() {
+        trie.onItemChanged(ItemChangedEvent.updated(item(502, "Sweet Potato", 90), item(502, "Yam", 90)));
+        trie.onItemChanged(ItemChangedEvent.updated(item(503, "Pomegranate", 10), item(503, "Pomegranate", 100)));
+
+        assertEquals(List.of(503L, 501L), suggestIds("po", 10));
+        assertEquals(List.of(502L), suggestIds("ya", 10));
+    }
+
+    @Test
+    public void prefixesEndingInsideAnEdgeAndAfterRemovalsTest() {
+        trie.onItemChanged(ItemChangedEvent.added(item(504, "Pottery Mug", 5)));
+        trie.onItemChanged(ItemChangedEvent.added(item(505, "Pot", 1)));
+
+        assertEquals(List.of(502L, 501L, 504L, 505L), suggestIds("pot", 10));
+        assertEquals(List.of(504L), suggestIds("potte", 10));
+        assertEquals(List.of(503L), suggestIds("pome", 10));
+        assertTrue(suggestIds("potx", 10).isEmpty());
+
+        // Removing names collapses their branches; the remaining names are still found
+        trie.onItemChanged(ItemChangedEvent.deleted(item(501, "Potato", 40)));
+        trie.onItemChanged(ItemChangedEvent.deleted(item(502, "Sweet Potato", 90)));
+        trie.onItemChanged(ItemChangedEvent.deleted(item(505, "Pot", 1)));
+
+        assertEquals(List.of(503L, 504L), suggestIds("po", 10));
+        assertEquals(List.of(504L), suggestIds("pot", 10));
+        assertEquals(List.of(504L), suggestIds("mug", 10));
+        assertTrue(suggestIds("potato", 10).isEmpty());
+        assertTrue(suggestIds("sweet", 10).isEmpty());
+    }
+
+    @Test
+    public void changesDuringRebuildSurviveTheSwapTest() {
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        ItemSuggestionTrie rebuilding = new ItemSuggestionTrie(itemRepository);
+        Item potato = new Item();
+        potato.setItemId(501L);
+        potato.setItemName("Potato");
+        potato.setQuantity(40L);
+        when(itemRepository.findByItemIdGreaterThanOrderByItemIdAsc(anyLong(), any())).thenAnswer(call -> {
+            // Published after the table was read, before the rebuilt trie is swapped in
+            rebuilding.onItemChanged(ItemChangedEvent.added(item(504, "Pomelo", 70)));
+            rebuilding.onItemChanged(ItemChangedEvent.updated(item(501, "Potato", 40), item(501, "Potato", 100)));
+            return List.of(potato);
+        });
+
+        rebuilding.rebuild();
+
+        List<ItemSuggestionDTO> suggestions = rebuilding.suggest("po", 10);
+        assertEquals(List.of(501L, 504L), suggestions.stream().map(ItemSuggestionDTO::getItemId).toList());
+        assertEquals(100L, suggestions.get(0).getWeight());
+    }
+}
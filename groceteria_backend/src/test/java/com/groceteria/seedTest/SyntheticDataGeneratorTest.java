@@ -0,0 +1,40 @@
+package com.groceteria.seedTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.groceteria.seed.SeedPlan;
+import com.groceteria.seed.SeedSummary;
+import com.groceteria.seed.SyntheticDataGenerator;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+public class SyntheticDataGeneratorTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void ordersUseTheApplicationsPaymentStatusesTest() {
+        SeedSummary data = new SyntheticDataGenerator(jdbcTemplate,
+            SeedPlan.builder().seed(21).vendors(2).customers(20).items(20).orders(200).cartUsers(0).build()).generate();
+
+        List<String> statuses = jdbcTemplate.queryForList(
+            "SELECT DISTINCT payment_status FROM orders WHERE order_id >= ? AND order_id < ?", String.class,
+            data.getFirstOrderId(), data.getFirstOrderId() + data.getOrders());
+
+        // Unpaid orders carry the status checkout gives a new order
+        assertEquals(Set.of("PAID", "PENDING"), Set.copyOf(statuses));
+        assertEquals(data.getPayments(), jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM orders WHERE payment_status = 'PAID' AND order_id >= ? AND order_id < ?", Integer.class,
+            data.getFirstOrderId(), data.getFirstOrderId() + data.getOrders()));
+    }
+}
@@ -0,0 +1,40 @@
+package com.groceteria.seedTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.groceteria.seed.ZipfSampler;
+
+public class ZipfSamplerTest {
+
+    @Test
+    public void lowRanksAreDrawnMostOftenTest() {
+        ZipfSampler sampler = new ZipfSampler(1000, 1.0);
+        Random random = new Random(7);
+        int[] counts = new int[1000];
+        for (int i = 0; i < 100_000; i++) {
+            counts[sampler.sample(random)]++;
+        }
+
+        assertTrue(counts[0] > counts[1]);
+        assertTrue(counts[1] > counts[10]);
+        // Rank 0 carries 1 / H(1000), about 13%, of the mass
+        assertEquals(0.134, counts[0] / 100_000.0, 0.01);
+    }
+
+    @Test
+    public void sameSeedGivesSameSequenceTest() {
+        ZipfSampler sampler = new ZipfSampler(50, 0.8);
+        Random first = new Random(42);
+        Random second = new Random(42);
+
+        for (int i = 0; i < 1000; i++) {
+            int rank = sampler.sample(first);
+            assertEquals(rank, sampler.sample(second));
+            assertTrue(rank >= 0 && rank < 50);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.groceteria.serviceTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.groceteria.dto.CartDTO;
+import com.groceteria.dto.CartLineOperationDTO;
+import com.groceteria.dto.CartLineOperationDTO.Action;
+import com.groceteria.exception.BadRequestException;
+import com.groceteria.seed.SeedPlan;
+import com.groceteria.seed.SeedSummary;
+import com.groceteria.seed.SyntheticDataGenerator;
+import com.groceteria.service.CartService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+public class CartServiceImplTest {
+
+    private static SeedSummary data;
+    private static int nextCustomer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CartService cartService;
+
+    private int userId;
+    private long first;
+    private long second;
+
+    @BeforeEach
+    public void setUp() {
+        if (data == null) {
+            data = new SyntheticDataGenerator(jdbcTemplate,
+                SeedPlan.builder().seed(17).vendors(2).customers(10).items(10).orders(0).cartUsers(0).build()).generate();
+        }
+        userId = data.getFirstUserId() + data.getVendors() + nextCustomer++;
+        first = data.getFirstItemId();
+        second = first + 1;
+    }
+
+    private static CartLineOperationDTO operation(long itemId, Action action, Long quantity) {
+        return CartLineOperationDTO.builder().itemId(itemId).action(action).quantity(quantity).build();
+    }
+
+    private long rows(long itemId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM carts WHERE user_id = ? AND item_id = ?",
+            Long.class, userId, itemId);
+    }
+
+    private long quantity(long itemId) {
+        return jdbcTemplate.queryForObject("SELECT quantity FROM carts WHERE user_id = ? AND item_id = ?",
+            Long.class, userId, itemId);
+    }
+
+    @Test
+    public void addRemoveAddInOneRequestKeepsOneRowTest() {
+        cartService.addToCart(CartDTO.builder().quantity(5L).build(), first, userId);
+        Long cartId = cartService.getCartByUserId(userId).get(0).getCartId();
+
+        List<CartDTO> cart = cartService.applyCartOperations(userId, List.of(
+            operation(first, Action.ADD, 1L),
+            operation(first, Action.REMOVE, null),
+            operation(first, Action.ADD, 2L),
+            operation(second, Action.ADD, 3L),
+            operation(second, Action.REMOVE, null),
+            operation(second, Action.ADD, 4L)));
+
+        assertEquals(2, cart.size());
+        assertEquals(1, rows(first));
+        assertEquals(2, quantity(first));
+        // The existing row is reused rather than deleted and inserted again
+        assertEquals(cartId, cart.stream().filter(line -> line.getItemId() == first).findFirst().orElseThrow().getCartId());
+        assertEquals(1, rows(second));
+        assertEquals(4, quantity(second));
+    }
+
+    @Test
+    public void removeOfItemNotInCartIsIgnoredTest() {
+        cartService.addToCart(CartDTO.builder().quantity(2L).build(), first, userId);
+
+        List<CartDTO> cart = cartService.applyCartOperations(userId, List.of(
+            operation(second, Action.REMOVE, null),
+            operation(first, Action.SET, 7L)));
+
+        assertEquals(1, cart.size());
+        assertEquals(7, quantity(first));
+        assertEquals(0, rows(second));
+    }
+
+    @Test
+    public void tooManyOperationsAreRejectedTest() {
+        cartService.addToCart(CartDTO.builder().quantity(2L).build(), first, userId);
+        List<CartLineOperationDTO> operations = new ArrayList<>();
+        for (int i = 0; i <= 500; i++) {
+            operations.add(operation(first, Action.ADD, 1L));
+        }
+
+        BadRequestException rejected = assertThrows(BadRequestException.class,
+            () -> cartService.applyCartOperations(userId, operations));
+
+        assertEquals("TOO_MANY_CART_OPERATIONS", rejected.getErrorCode());
+        assertEquals(2, quantity(first));
+    }
+}
@@ -0,0 +1,149 @@
+package com.groceteria.serviceTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.groceteria.cache.CatalogCache;
+import com.groceteria.dto.ItemDTO;
+import com.groceteria.dto.StockLineDTO;
+import com.groceteria.dto.StockReservationDTO;
+import com.groceteria.seed.SeedPlan;
+import com.groceteria.seed.SeedSummary;
+import com.groceteria.seed.SyntheticDataGenerator;
+import com.groceteria.entity.Category;
+import com.groceteria.service.InventoryService;
+import com.groceteria.service.ItemService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+public class InventoryServiceImplTest {
+
+    private static SeedSummary data;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    private long first;
+    private long second;
+
+    @BeforeEach
+    public void setUp() {
+        if (data == null) {
+            data = new SyntheticDataGenerator(jdbcTemplate,
+                SeedPlan.builder().seed(11).vendors(2).customers(5).items(10).orders(0).cartUsers(0).build()).generate();
+        }
+        first = data.getFirstItemId();
+        second = first + 1;
+        setStock(first, 5);
+        setStock(second, 5);
+        // The stock above was set behind the application's back
+        catalogCache.clear();
+    }
+
+    private void setStock(long itemId, long quantity) {
+        jdbcTemplate.update("UPDATE items SET quantity = ? WHERE item_id = ?", quantity, itemId);
+    }
+
+    private long stock(long itemId) {
+        return jdbcTemplate.queryForObject("SELECT quantity FROM items WHERE item_id = ?", Long.class, itemId);
+    }
+
+    @Test
+    public void linesForTheSameItemAreMergedTest() {
+        StockReservationDTO reservation = inventoryService.reserve(
+            List.of(new StockLineDTO(first, 2L), new StockLineDTO(first, 3L)));
+
+        assertTrue(reservation.isReserved());
+        assertEquals(0, stock(first));
+    }
+
+    @Test
+    public void partialFailureRollsBackReservedLinesTest() {
+        StockReservationDTO reservation = inventoryService.reserve(
+            List.of(new StockLineDTO(first, 2L), new StockLineDTO(second, 6L)));
+
+        assertFalse(reservation.isReserved());
+        assertEquals(List.of(second), reservation.getFailedItemIds());
+        assertEquals(5, stock(first));
+        assertEquals(5, stock(second));
+    }
+
+    @Test
+    public void concurrentReservationsNeverOversellTest() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> attempts = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                attempts.add(executor.submit(() ->
+                    inventoryService.reserve(List.of(new StockLineDTO(first, 1L), new StockLineDTO(second, 1L))).isReserved()));
+            }
+            int reserved = 0;
+            for (Future<Boolean> attempt : attempts) {
+                reserved += attempt.get() ? 1 : 0;
+            }
+
+            assertEquals(5, reserved);
+            assertEquals(0, stock(first));
+            assertEquals(0, stock(second));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private long pagedQuantity(Category category, long itemId) {
+        return itemService.findItemsByCategory(category, 0, 100).getItems().stream()
+            .filter(item -> item.getItemId() == itemId)
+            .findFirst()
+            .map(ItemDTO::getQuantity)
+            .orElseThrow();
+    }
+
+    @Test
+    public void cachedCatalogPageShowsStockAfterReserveAndReleaseTest() {
+        Category category = Category.valueOf(jdbcTemplate.queryForObject(
+            "SELECT category FROM items WHERE item_id = ?", String.class, first));
+        assertEquals(5, pagedQuantity(category, first));
+        long hits = itemService.getCatalogCacheStats().getHits();
+        assertEquals(5, pagedQuantity(category, first));
+        assertEquals(hits + 1, itemService.getCatalogCacheStats().getHits());
+
+        assertTrue(inventoryService.reserve(List.of(new StockLineDTO(first, 2L))).isReserved());
+        assertEquals(3, pagedQuantity(category, first));
+
+        inventoryService.release(List.of(new StockLineDTO(first, 1L)));
+        assertEquals(4, pagedQuantity(category, first));
+    }
+
+    @Test
+    public void failedReservationPublishesNothingTest() {
+        Category category = Category.valueOf(jdbcTemplate.queryForObject(
+            "SELECT category FROM items WHERE item_id = ?", String.class, first));
+        pagedQuantity(category, first);
+        long invalidations = itemService.getCatalogCacheStats().getInvalidations();
+
+        assertFalse(inventoryService.reserve(List.of(new StockLineDTO(first, 2L), new StockLineDTO(second, 6L))).isReserved());
+
+        assertEquals(invalidations, itemService.getCatalogCacheStats().getInvalidations());
+    }
+}
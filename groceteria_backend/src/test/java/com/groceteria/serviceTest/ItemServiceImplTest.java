@@ -0,0 +1,150 @@
+package com.groceteria.serviceTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.groceteria.cache.CatalogCache;
+import com.groceteria.dto.ItemCursorPagingDTO;
+import com.groceteria.dto.ItemDTO;
+import com.groceteria.exception.BadRequestException;
+import com.groceteria.repository.ItemRepository;
+import com.groceteria.search.ItemSearchIndex;
+import com.groceteria.seed.SeedPlan;
+import com.groceteria.seed.SeedSummary;
+import com.groceteria.seed.SyntheticDataGenerator;
+import com.groceteria.service.ItemService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+public class ItemServiceImplTest {
+
+    private static SeedSummary data;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @BeforeEach
+    public void setUp() {
+        if (data == null) {
+            data = new SyntheticDataGenerator(jdbcTemplate,
+                SeedPlan.builder().seed(23).vendors(2).customers(2).items(25).orders(0).cartUsers(0).build()).generate();
+        }
+    }
+
+    private static String encode(String cursor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void assertInvalidCursor(String cursor) {
+        BadRequestException rejected = assertThrows(BadRequestException.class,
+            () -> itemService.getAllItemsByCursor(cursor, 10));
+        assertEquals("INVALID_CURSOR", rejected.getErrorCode());
+    }
+
+    private void assertInvalidPageSize(Runnable call) {
+        BadRequestException rejected = assertThrows(BadRequestException.class, call::run);
+        assertEquals("INVALID_PAGE_SIZE", rejected.getErrorCode());
+    }
+
+    @Test
+    public void malformedOrForeignCursorIsBadRequestTest() {
+        assertInvalidCursor("not base64!");
+        assertInvalidCursor(encode("v2:" + data.getFirstItemId()));
+        assertInvalidCursor(encode("v1:abc"));
+        assertInvalidCursor(encode("v1:"));
+        assertInvalidCursor(encode(String.valueOf(data.getFirstItemId())));
+    }
+
+    @Test
+    public void cursorPagesCoverEveryItemOnceTest() {
+        List<Long> expected = jdbcTemplate.queryForList("SELECT item_id FROM items ORDER BY item_id", Long.class);
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        ItemCursorPagingDTO page;
+        do {
+            page = itemService.getAllItemsByCursor(cursor, 7);
+            assertTrue(page.getItems().size() <= 7);
+            page.getItems().stream().map(ItemDTO::getItemId).forEach(seen::add);
+            cursor = page.getNextCursor();
+        } while (page.isHasMore());
+
+        assertEquals(expected, seen);
+        assertNull(page.getNextCursor());
+        // A cursor to the last item is valid and yields an empty final page
+        ItemCursorPagingDTO past = itemService.getAllItemsByCursor(encode("v1:" + seen.get(seen.size() - 1)), 7);
+        assertTrue(past.getItems().isEmpty());
+        assertFalse(past.isHasMore());
+    }
+
+    @Test
+    public void pageSizeAboveMaximumIsBadRequestTest() {
+        assertInvalidPageSize(() -> itemService.getAllItemsByCursor(null, 10_000_000));
+        assertInvalidPageSize(() -> itemService.getAllItemsByCursor(null, Integer.MAX_VALUE));
+        assertInvalidPageSize(() -> itemService.getAllItemsByCursor(null, 0));
+        assertInvalidPageSize(() -> itemService.getAllItems(0, 101));
+        assertInvalidPageSize(() -> itemService.getAvailableItems(0, Integer.MAX_VALUE));
+        assertInvalidPageSize(() -> itemService.findItemsByName("apple", 0, 10_000_000));
+
+        assertEquals(Math.min(100, countItems()), itemService.getAllItemsByCursor(null, 100).getItems().size());
+    }
+
+    @Test
+    public void negativePageNumberIsBadRequestTest() {
+        BadRequestException rejected = assertThrows(BadRequestException.class,
+            () -> itemService.getAllItems(-1, 10));
+        assertEquals("INVALID_PAGE", rejected.getErrorCode());
+    }
+
+    @Test
+    public void searchIsNotCachedUntilIndexIsReadyTest() {
+        Object target = AopTestUtils.getTargetObject(itemService);
+        Object readyIndex = ReflectionTestUtils.getField(target, "itemSearchIndex");
+        ItemSearchIndex rebuilding = new ItemSearchIndex(itemRepository);
+        String name = jdbcTemplate.queryForObject("SELECT item_name FROM items WHERE item_id = ?",
+            String.class, data.getFirstItemId());
+        String keyword = ItemSearchIndex.tokenize(name).get(0);
+        catalogCache.clear();
+        ReflectionTestUtils.setField(target, "itemSearchIndex", rebuilding);
+        try {
+            itemService.findItemsByName(keyword, 0, 10);
+            itemService.findItemsByName(keyword, 0, 10);
+            assertEquals(0, catalogCache.getStats().getSize());
+
+            rebuilding.rebuild();
+            long hits = catalogCache.getStats().getHits();
+            itemService.findItemsByName(keyword, 0, 10);
+            itemService.findItemsByName(keyword, 0, 10);
+            assertEquals(1, catalogCache.getStats().getSize());
+            assertEquals(hits + 1, catalogCache.getStats().getHits());
+        } finally {
+            ReflectionTestUtils.setField(target, "itemSearchIndex", readyIndex);
+            catalogCache.clear();
+        }
+    }
+
+    private int countItems() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM items", Integer.class);
+    }
+}
@@ -0,0 +1,103 @@
+package com.groceteria.serviceTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.groceteria.dto.CartDTO;
+import com.groceteria.dto.OrderDTO;
+import com.groceteria.exception.BadRequestException;
+import com.groceteria.exception.ConflictException;
+import com.groceteria.seed.SeedPlan;
+import com.groceteria.seed.SeedSummary;
+import com.groceteria.seed.SyntheticDataGenerator;
+import com.groceteria.service.CartService;
+import com.groceteria.service.OrderService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+public class OrderServiceImplTest {
+
+    private static SeedSummary data;
+    private static int nextCustomer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private OrderService orderService;
+
+    private int userId;
+    private long first;
+    private long second;
+
+    @BeforeEach
+    public void setUp() {
+        if (data == null) {
+            data = new SyntheticDataGenerator(jdbcTemplate,
+                SeedPlan.builder().seed(13).vendors(2).customers(10).items(10).orders(0).cartUsers(0).build()).generate();
+        }
+        // A fresh customer per test, so no test sees another one's cart or orders
+        userId = data.getFirstUserId() + data.getVendors() + nextCustomer++;
+        first = data.getFirstItemId();
+        second = first + 1;
+        jdbcTemplate.update("UPDATE items SET quantity = 10, mrp_price = 2.5 WHERE item_id = ?", first);
+        jdbcTemplate.update("UPDATE items SET quantity = 10, mrp_price = 4.0 WHERE item_id = ?", second);
+    }
+
+    private void add(long itemId, long quantity) {
+        cartService.addToCart(CartDTO.builder().quantity(quantity).build(), itemId, userId);
+    }
+
+    private long stock(long itemId) {
+        return jdbcTemplate.queryForObject("SELECT quantity FROM items WHERE item_id = ?", Long.class, itemId);
+    }
+
+    private long orders() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE user_id = ?", Long.class, userId);
+    }
+
+    @Test
+    public void checkoutTurnsCartIntoOrderTest() {
+        add(first, 2);
+        add(second, 3);
+
+        OrderDTO order = orderService.checkout(userId);
+
+        assertEquals(2 * 2.5 + 3 * 4.0, order.getTotalPrice());
+        assertEquals("PENDING", order.getPaymentStatus());
+        assertEquals(2, order.getItemIds().size());
+        assertEquals(8, stock(first));
+        assertEquals(7, stock(second));
+        assertTrue(cartService.getCartByUserId(userId).isEmpty());
+        assertEquals(1, orders());
+    }
+
+    @Test
+    public void insufficientStockLeavesEverythingUnchangedTest() {
+        add(first, 2);
+        add(second, 11);
+
+        ConflictException conflict = assertThrows(ConflictException.class, () -> orderService.checkout(userId));
+
+        assertTrue(conflict.getMessage().contains(String.valueOf(second)));
+        assertEquals(10, stock(first));
+        assertEquals(10, stock(second));
+        assertEquals(2, cartService.getCartByUserId(userId).size());
+        assertEquals(0, orders());
+    }
+
+    @Test
+    public void emptyCartIsRejectedTest() {
+        assertThrows(BadRequestException.class, () -> orderService.checkout(userId));
+        assertEquals(0, orders());
+    }
+}
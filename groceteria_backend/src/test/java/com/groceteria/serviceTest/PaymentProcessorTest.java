@@ -0,0 +1,123 @@
+package com.groceteria.serviceTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.groceteria.dto.PaymentDTO;
+import com.groceteria.entity.Order;
+import com.groceteria.entity.Payment;
+import com.groceteria.repository.OrderRepository;
+import com.groceteria.repository.PaymentRepository;
+import com.groceteria.service.PaymentGateway;
+import com.groceteria.service.PaymentGatewayResult;
+import com.groceteria.serviceImpl.PaymentProcessor;
+
+public class PaymentProcessorTest {
+
+    private PaymentRepository paymentRepository;
+    private OrderRepository orderRepository;
+    private PaymentGateway paymentGateway;
+    private ThreadPoolTaskExecutor paymentExecutor;
+    private PaymentProcessor processor;
+
+    private Payment payment;
+    private Order order;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        paymentRepository = mock(PaymentRepository.class);
+        orderRepository = mock(OrderRepository.class);
+        paymentGateway = mock(PaymentGateway.class);
+        paymentExecutor = mock(ThreadPoolTaskExecutor.class);
+        // Run submitted work and transactions inline
+        doAnswer(call -> {
+            call.<Runnable>getArgument(0).run();
+            return null;
+        }).when(paymentExecutor).execute(any(Runnable.class));
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(call -> {
+            call.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        processor = new PaymentProcessor();
+        ReflectionTestUtils.setField(processor, "paymentRepository", paymentRepository);
+        ReflectionTestUtils.setField(processor, "orderRepository", orderRepository);
+        ReflectionTestUtils.setField(processor, "paymentGateway", paymentGateway);
+        ReflectionTestUtils.setField(processor, "paymentExecutor", paymentExecutor);
+        ReflectionTestUtils.setField(processor, "transactionTemplate", transactionTemplate);
+
+        payment = Payment.builder().paymentId(101L).orderId(301L).totalPrice(25.0).paidAmount(25.0)
+            .paidDate(LocalDate.now()).status(Payment.STATUS_PENDING).build();
+        order = new Order();
+        order.setOrderId(301L);
+        order.setPaymentStatus("PENDING");
+        order.setOrderStatus("PENDING");
+        when(paymentRepository.findById(101L)).thenReturn(Optional.of(payment));
+        when(orderRepository.findById(301L)).thenReturn(Optional.of(order));
+    }
+
+    private PaymentDTO dto() {
+        return PaymentDTO.builder().paymentId(101L).orderId(301L).paidAmount(25.0).build();
+    }
+
+    @Test
+    public void approvedChargeMarksPaymentAndOrderPaidTest() {
+        when(paymentGateway.charge(any())).thenReturn(PaymentGatewayResult.approved());
+
+        processor.submit(dto());
+
+        assertEquals(Payment.STATUS_PAID, payment.getStatus());
+        assertEquals("PAID", order.getPaymentStatus());
+        assertEquals("CONFIRMED", order.getOrderStatus());
+    }
+
+    @Test
+    public void gatewayErrorMarksPaymentFailedTest() {
+        when(paymentGateway.charge(any())).thenThrow(new IllegalStateException("connection reset"));
+
+        processor.submit(dto());
+
+        assertEquals(Payment.STATUS_FAILED, payment.getStatus());
+        assertEquals("FAILED", order.getPaymentStatus());
+        assertEquals("PENDING", order.getOrderStatus());
+    }
+
+    @Test
+    public void outcomeForPaymentNoLongerPendingIsIgnoredTest() {
+        payment.setStatus(Payment.STATUS_PAID);
+        when(paymentGateway.charge(any())).thenReturn(PaymentGatewayResult.declined("insufficient funds"));
+
+        processor.submit(dto());
+
+        assertEquals(Payment.STATUS_PAID, payment.getStatus());
+        assertEquals("PENDING", order.getPaymentStatus());
+    }
+
+    @Test
+    public void resumeStopsWhenQueueIsFullTest() {
+        Payment other = Payment.builder().paymentId(102L).orderId(302L).status(Payment.STATUS_PENDING).build();
+        when(paymentRepository.findByStatus(Payment.STATUS_PENDING)).thenReturn(List.of(payment, other));
+        doThrow(new TaskRejectedException("full")).when(paymentExecutor).execute(any(Runnable.class));
+
+        processor.resumePendingPayments();
+
+        verify(paymentExecutor, times(1)).execute(any(Runnable.class));
+        verifyNoInteractions(paymentGateway);
+    }
+}
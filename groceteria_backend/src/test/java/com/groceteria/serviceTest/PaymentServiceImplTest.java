@@ -0,0 +1,114 @@
+package com.groceteria.serviceTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.groceteria.dto.PaymentDTO;
+import com.groceteria.entity.Order;
+import com.groceteria.entity.Payment;
+import com.groceteria.entity.User;
+import com.groceteria.exception.BadRequestException;
+import com.groceteria.exception.ConflictException;
+import com.groceteria.repository.OrderRepository;
+import com.groceteria.repository.PaymentRepository;
+import com.groceteria.service.OrderService;
+import com.groceteria.service.UserService;
+import com.groceteria.serviceImpl.PaymentProcessor;
+import com.groceteria.serviceImpl.PaymentServiceImpl;
+
+public class PaymentServiceImplTest {
+
+    private PaymentRepository paymentRepository;
+    private PaymentProcessor paymentProcessor;
+    private PaymentServiceImpl paymentService;
+
+    @BeforeEach
+    public void setUp() {
+        paymentRepository = mock(PaymentRepository.class);
+        OrderRepository orderRepository = mock(OrderRepository.class);
+        UserService userService = mock(UserService.class);
+        paymentProcessor = mock(PaymentProcessor.class);
+
+        Order order = new Order();
+        order.setOrderId(301L);
+        order.setTotalPrice(25.0);
+        User user = new User();
+        user.setUserId(7);
+        when(orderRepository.findById(301L)).thenReturn(Optional.of(order));
+        when(userService.getUserEntityById(7)).thenReturn(user);
+        when(paymentRepository.save(any(Payment.class))).thenAnswer(call -> call.getArgument(0));
+
+        paymentService = new PaymentServiceImpl(paymentRepository, orderRepository, userService, mock(OrderService.class));
+        ReflectionTestUtils.setField(paymentService, "paymentProcessor", paymentProcessor);
+    }
+
+    private Payment existing(String status) {
+        User payer = new User();
+        payer.setUserId(7);
+        Payment payment = Payment.builder().paymentId(101L).orderId(301L).status(status).user(payer).build();
+        when(paymentRepository.findFirstByOrderId(301L)).thenReturn(Optional.of(payment));
+        when(paymentRepository.findById(101L)).thenReturn(Optional.of(payment));
+        return payment;
+    }
+
+    @Test
+    public void failedPaymentIsRetriedOnceTest() {
+        existing(Payment.STATUS_FAILED);
+        when(paymentRepository.claimFailedPayment(101L)).thenReturn(1);
+
+        PaymentDTO retried = paymentService.addPayment(new PaymentDTO(), 301L, 7);
+
+        assertEquals(Payment.STATUS_PENDING, retried.getStatus());
+        verify(paymentProcessor).submit(any());
+    }
+
+    @Test
+    public void retryClaimedByAnotherRequestIsConflictTest() {
+        // Both requests read FAILED; the other one's conditional update won
+        existing(Payment.STATUS_FAILED);
+        when(paymentRepository.claimFailedPayment(101L)).thenReturn(0);
+
+        assertThrows(ConflictException.class, () -> paymentService.addPayment(new PaymentDTO(), 301L, 7));
+        verify(paymentRepository, never()).save(any());
+        verifyNoInteractions(paymentProcessor);
+    }
+
+    @Test
+    public void concurrentFirstPaymentIsConflictTest() {
+        when(paymentRepository.findFirstByOrderId(301L)).thenReturn(Optional.empty());
+        when(paymentRepository.save(any(Payment.class))).thenThrow(new DataIntegrityViolationException("order_id"));
+
+        assertThrows(ConflictException.class, () -> paymentService.addPayment(new PaymentDTO(), 301L, 7));
+        verifyNoInteractions(paymentProcessor);
+    }
+
+    @Test
+    public void processQueuesFailedPaymentInsteadOfChargingTest() {
+        existing(Payment.STATUS_FAILED);
+        when(paymentRepository.claimFailedPayment(101L)).thenReturn(1);
+
+        PaymentDTO queued = paymentService.processPayment(PaymentDTO.builder().paymentId(101L).build());
+
+        assertEquals(Payment.STATUS_PENDING, queued.getStatus());
+        verify(paymentProcessor).submit(any());
+    }
+
+    @Test
+    public void processOfPaymentNotFailedIsConflictTest() {
+        existing(Payment.STATUS_PAID);
+        when(paymentRepository.claimFailedPayment(101L)).thenReturn(0);
+
+        assertThrows(ConflictException.class,
+            () -> paymentService.processPayment(PaymentDTO.builder().paymentId(101L).build()));
+        assertThrows(BadRequestException.class, () -> paymentService.processPayment(new PaymentDTO()));
+        verifyNoInteractions(paymentProcessor);
+    }
+}
@@ -0,0 +1,41 @@
+package com.groceteria.serviceTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import com.groceteria.dto.PaymentDTO;
+import com.groceteria.service.PaymentGatewayResult;
+import com.groceteria.serviceImpl.SimulatedPaymentGateway;
+
+public class SimulatedPaymentGatewayTest {
+
+    private final PaymentDTO payment = PaymentDTO.builder().paymentId(101L).orderId(301L).paidAmount(250.75).build();
+
+    @Test
+    public void injectsConfiguredOutcomesTest() {
+        SimulatedPaymentGateway alwaysError = new SimulatedPaymentGateway(1, 1, 1000, 0.0, 1.0, 0, 42);
+        SimulatedPaymentGateway alwaysDecline = new SimulatedPaymentGateway(1, 1, 1000, 1.0, 0.0, 0, 42);
+        SimulatedPaymentGateway alwaysApprove = new SimulatedPaymentGateway(1, 1, 1000, 0.0, 0.0, 0, 42);
+
+        assertEquals(PaymentGatewayResult.Status.ERROR, alwaysError.charge(payment).getStatus());
+        assertEquals(PaymentGatewayResult.Status.DECLINED, alwaysDecline.charge(payment).getStatus());
+        assertTrue(alwaysApprove.charge(payment).isApproved());
+    }
+
+    @Test
+    public void slowCallsTimeOutTest() {
+        SimulatedPaymentGateway gateway = new SimulatedPaymentGateway(50, 50, 5, 0.0, 0.0, 0, 42);
+
+        assertEquals(PaymentGatewayResult.Status.TIMEOUT, gateway.charge(payment).getStatus());
+    }
+
+    @Test
+    public void throughputCapRejectsExcessCallsTest() {
+        SimulatedPaymentGateway gateway = new SimulatedPaymentGateway(1, 1, 1000, 0.0, 0.0, 2, 42);
+
+        assertTrue(gateway.charge(payment).isApproved());
+        assertTrue(gateway.charge(payment).isApproved());
+        assertEquals(PaymentGatewayResult.Status.ERROR, gateway.charge(payment).getStatus());
+    }
+}
@@ -0,0 +1,52 @@
+package com.groceteria.serviceTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.groceteria.cart.WriteBehindCartStore;
+import com.groceteria.dto.CartLineOperationDTO;
+import com.groceteria.exception.BadRequestException;
+import com.groceteria.repository.ItemRepository;
+import com.groceteria.service.UserService;
+import com.groceteria.serviceImpl.WriteBehindCartServiceImpl;
+
+public class WriteBehindCartServiceImplTest {
+
+    private WriteBehindCartStore cartStore;
+    private ItemRepository itemRepository;
+    private WriteBehindCartServiceImpl cartService;
+
+    @BeforeEach
+    public void setUp() {
+        cartStore = mock(WriteBehindCartStore.class);
+        itemRepository = mock(ItemRepository.class);
+        cartService = new WriteBehindCartServiceImpl();
+        ReflectionTestUtils.setField(cartService, "cartStore", cartStore);
+        ReflectionTestUtils.setField(cartService, "itemRepository", itemRepository);
+        ReflectionTestUtils.setField(cartService, "userService", mock(UserService.class));
+        ReflectionTestUtils.setField(cartService, "maxOperations", 3);
+    }
+
+    @Test
+    public void tooManyOperationsAreRejectedBeforeTouchingTheCartTest() {
+        List<CartLineOperationDTO> operations = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            operations.add(CartLineOperationDTO.builder().itemId(501L).action(CartLineOperationDTO.Action.ADD).quantity(1L).build());
+        }
+
+        BadRequestException rejected = assertThrows(BadRequestException.class,
+            () -> cartService.applyCartOperations(7, operations));
+
+        assertEquals("TOO_MANY_CART_OPERATIONS", rejected.getErrorCode());
+        verifyNoInteractions(itemRepository);
+        verify(cartStore, never()).apply(anyInt(), any(), any());
+    }
+}
@@ -35,20 +35,25 @@ export class UserCartComponent {
   }
 
   getCartList(): void{
-    this.gservice.cartList().pipe(take(1)).subscribe(
+    this.gservice.cartSummary(this.gservice.getUserAuthorization()).pipe(take(1)).subscribe(
       (res: any) => {
-        console.log("****", res);
-        if(!!res && Array.isArray(res)){ 
-        const userFilter = res.filter((item: Cart) => item?.user?.userId === parseInt(this.gservice.getUserAuthorization()));
-        console.log("user filter:::::::", userFilter);
-        this.cartList = userFilter;
-        // this.cartListBackup =  _.cloneDeep(userFilter);
-        this.cartListBackup =  Object.assign(userFilter);
-        if(this.cartList.length > 0){
-          this.cartList.map((item: Cart) => {
-            this.grandTotal += (item?.mrpPrice * item?.quantity);
-          })
-        }
+        if(!!res && Array.isArray(res?.lines)){
+        // Lines come joined with their item and priced at the current item price
+        this.cartList = res.lines.map((line: any) => ({
+          cartId: line?.cartId,
+          quantity: line?.quantity,
+          mrpPrice: line?.currentPrice,
+          user: this.user,
+          item: {
+            itemId: line?.itemId,
+            itemName: line?.itemName,
+            image: line?.image,
+            mrpPrice: line?.currentPrice,
+            quantity: line?.availableQuantity
+          } as Item
+        }));
+        this.cartListBackup =  Object.assign(this.cartList);
+        this.grandTotal = res?.grandTotal ?? 0;
       }
       }, err => {
         console.log("error");
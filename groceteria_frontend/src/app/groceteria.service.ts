@@ -181,6 +181,11 @@ export class GroceteriaService {
     return this.http.get(this.url+"/cart");
   }
 
+  //@GetMapping("/user/{userId}/summary")
+  cartSummary(userId:any):Observable<any>{
+    return this.http.get(`${this.url}/cart/user/${userId}/summary`);
+  }
+
   //@RequestMapping("/orders")
   //@PostMapping
   placeOrder(body:any):Observable<any> {